@@ -0,0 +1,24 @@
+package com.iwacu250.landplots.config;
+
+import com.iwacu250.landplots.service.HttpSurrogatePurger;
+import com.iwacu250.landplots.service.LoggingSurrogatePurger;
+import com.iwacu250.landplots.service.SurrogatePurger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class EdgeCacheConfig {
+
+    // Without a purge endpoint, keys are only logged and responses are not cached at the edge
+    @Bean
+    public SurrogatePurger surrogatePurger(@Value("${edge.purge.url:}") String url,
+                                           @Value("${edge.purge.method:POST}") String method,
+                                           @Value("${edge.purge.key-header:Surrogate-Key}") String keyHeader,
+                                           @Value("${edge.purge.token:}") String token) {
+        if (url.isBlank()) {
+            return new LoggingSurrogatePurger();
+        }
+        return new HttpSurrogatePurger(url, method, keyHeader, token);
+    }
+}
@@ -0,0 +1,37 @@
+package com.iwacu250.landplots.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Modules added to Spring Boot's ObjectMapper; every Module bean is registered on it, so the
+ * message converters, caches and exports all get them.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Replaces reflective getter and setter calls with generated lambdas.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public Module compactPageModule() {
+        return pageModule();
+    }
+
+    /**
+     * Page and slice responses as a flat envelope, see {@link SliceSerializer}.
+     */
+    public static Module pageModule() {
+        SimpleModule module = new SimpleModule("CompactPageModule");
+        module.addSerializer(new SliceSerializer());
+        return module;
+    }
+}
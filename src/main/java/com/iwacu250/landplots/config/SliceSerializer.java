@@ -0,0 +1,57 @@
+package com.iwacu250.landplots.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.io.IOException;
+
+/**
+ * Writes pages and slices as a flat envelope: the content plus the paging fields clients read
+ * ({@code number}, {@code size}, {@code first}, {@code last}, and the totals when the page was
+ * counted). Bean serialization of {@code PageImpl}/{@code SliceImpl} also writes the nested
+ * {@code pageable} and {@code sort} objects twice over, through reflection, on every response.
+ */
+public class SliceSerializer extends StdSerializer<Slice<?>> {
+
+    @SuppressWarnings("unchecked")
+    public SliceSerializer() {
+        super((Class<Slice<?>>) (Class<?>) Slice.class);
+    }
+
+    @Override
+    public void serialize(Slice<?> slice, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName("content");
+        gen.writeStartArray();
+        // Items of a page share one type, so the serializer is looked up once, not per item
+        Class<?> itemType = null;
+        JsonSerializer<Object> itemSerializer = null;
+        for (Object item : slice.getContent()) {
+            if (item == null) {
+                gen.writeNull();
+                continue;
+            }
+            if (item.getClass() != itemType) {
+                itemType = item.getClass();
+                itemSerializer = provider.findValueSerializer(itemType);
+            }
+            itemSerializer.serialize(item, gen, provider);
+        }
+        gen.writeEndArray();
+        gen.writeNumberField("number", slice.getNumber());
+        gen.writeNumberField("size", slice.getSize());
+        gen.writeNumberField("numberOfElements", slice.getNumberOfElements());
+        gen.writeBooleanField("first", slice.isFirst());
+        gen.writeBooleanField("last", slice.isLast());
+        gen.writeBooleanField("empty", slice.isEmpty());
+        if (slice instanceof Page<?> page) {
+            gen.writeNumberField("totalElements", page.getTotalElements());
+            gen.writeNumberField("totalPages", page.getTotalPages());
+        }
+        gen.writeEndObject();
+    }
+}
@@ -1,12 +1,17 @@
 package com.iwacu250.landplots.controller;
 
+import com.iwacu250.landplots.dto.CursorPage;
 import com.iwacu250.landplots.dto.HouseDTO;
 import com.iwacu250.landplots.dto.ImageDTO;
 import com.iwacu250.landplots.entity.PropertyType;
 import com.iwacu250.landplots.entity.PropertyStatus;
+import com.iwacu250.landplots.search.CountMode;
+import com.iwacu250.landplots.search.FieldSelection;
+import com.iwacu250.landplots.service.ExportFormat;
+import com.iwacu250.landplots.service.ExportService;
 import com.iwacu250.landplots.service.HouseService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
@@ -14,6 +19,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.io.IOException;
@@ -26,10 +32,12 @@ import java.util.Map;
 public class AdminHouseController extends BaseController {
 
     private final HouseService houseService;
+    private final ExportService exportService;
 
     @Autowired
-    public AdminHouseController(HouseService houseService) {
+    public AdminHouseController(HouseService houseService, ExportService exportService) {
         this.houseService = houseService;
+        this.exportService = exportService;
     }
 
     @PostMapping(value = "/createHouse")
@@ -74,23 +82,47 @@ public class AdminHouseController extends BaseController {
     }
 
     @GetMapping(value = "/getAllHouses")
-    public ResponseEntity<Page<HouseDTO>> getAllHouses(
+    public ResponseEntity<Slice<HouseDTO>> getAllHouses(
             @PageableDefault(size = 10) Pageable pageable,
             @RequestParam(required = false) String location,
             @RequestParam(required = false) Double minPrice,
             @RequestParam(required = false) Double maxPrice,
             @RequestParam(required = false) Integer bedrooms,
             @RequestParam(required = false) PropertyType type,
-            @RequestParam(required = false) PropertyStatus status) {
+            @RequestParam(required = false) PropertyStatus status,
+            @RequestParam(defaultValue = "EXACT") CountMode count) {
         
         if (location != null || minPrice != null || maxPrice != null || 
             bedrooms != null || type != null || status != null) {
             // Use search if any filter is provided
-            return ResponseEntity.ok(houseService.searchHouses(location, minPrice, maxPrice, bedrooms, type, status, pageable));
+            return ResponseEntity.ok(houseService.searchHouses(location, minPrice, maxPrice, bedrooms, type, status, pageable, count, FieldSelection.ALL));
         }
         
         // Otherwise, return all houses with pagination
-        return ResponseEntity.ok(houseService.getAllHouses(pageable));
+        return ResponseEntity.ok(houseService.getAllHouses(pageable, count, FieldSelection.ALL));
+    }
+
+    @GetMapping(value = "/scrollHouses")
+    public ResponseEntity<CursorPage<HouseDTO>> scrollHouses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Integer bedrooms,
+            @RequestParam(required = false) PropertyType type,
+            @RequestParam(required = false) PropertyStatus status) {
+        
+        CursorPage<HouseDTO> results = houseService.scrollHouses(
+            cursor, size, sortBy, sortDir, location, minPrice, maxPrice, bedrooms, type, status);
+        return ResponseEntity.ok(results);
+    }
+
+    @GetMapping(value = "/export")
+    public ResponseEntity<StreamingResponseBody> exportHouses(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        return exportService.exportHouses(format);
     }
 
     @DeleteMapping(value = "/deleteHouse/{id}")
@@ -100,17 +132,18 @@ public class AdminHouseController extends BaseController {
     }
 
     @GetMapping(value = "/searchHouses")
-    public ResponseEntity<Page<HouseDTO>> searchHouses(
+    public ResponseEntity<Slice<HouseDTO>> searchHouses(
             @RequestParam(required = false) String location,
             @RequestParam(required = false) Double minPrice,
             @RequestParam(required = false) Double maxPrice,
             @RequestParam(required = false) Integer bedrooms,
             @RequestParam(required = false) PropertyType type,
             @RequestParam(required = false) PropertyStatus status,
-            @PageableDefault(size = 10) Pageable pageable) {
+            @PageableDefault(size = 10) Pageable pageable,
+            @RequestParam(defaultValue = "EXACT") CountMode count) {
         
-        Page<HouseDTO> results = houseService.searchHouses(
-            location, minPrice, maxPrice, bedrooms, type, status, pageable);
+        Slice<HouseDTO> results = houseService.searchHouses(
+            location, minPrice, maxPrice, bedrooms, type, status, pageable, count, FieldSelection.ALL);
         return ResponseEntity.ok(results);
     }
 
@@ -1,20 +1,29 @@
 package com.iwacu250.landplots.controller;
 
+import com.iwacu250.landplots.dto.CursorPage;
 import com.iwacu250.landplots.dto.ImageDTO;
+import com.iwacu250.landplots.dto.ImportReportDTO;
 import com.iwacu250.landplots.dto.PlotDTO;
 import com.iwacu250.landplots.dto.PlotRequestDTO;
+import com.iwacu250.landplots.search.CountMode;
+import com.iwacu250.landplots.search.FieldSelection;
+import com.iwacu250.landplots.service.ExportFormat;
+import com.iwacu250.landplots.service.ExportService;
+import com.iwacu250.landplots.service.PlotImportService;
 import com.iwacu250.landplots.service.PlotService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.lang.NonNull;
 import org.springframework.transaction.annotation.Transactional;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,8 +36,14 @@ public class AdminPlotController {
     @Autowired
     private PlotService plotService;
 
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private PlotImportService plotImportService;
+
     @GetMapping(value = "/getAllPlots")
-    public ResponseEntity<Page<PlotDTO>> getAllPlots(
+    public ResponseEntity<Slice<PlotDTO>> getAllPlots(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
@@ -38,13 +53,14 @@ public class AdminPlotController {
             @RequestParam(required = false) Double minPrice,
             @RequestParam(required = false) Double maxPrice,
             @RequestParam(required = false) Double minSize,
-            @RequestParam(required = false) Double maxSize) {
+            @RequestParam(required = false) Double maxSize,
+            @RequestParam(defaultValue = "EXACT") CountMode count) {
         
         try {
             System.out.println("AdminPlotController: Getting all plots with params: page=" + page + ", size=" + size + ", status=" + status);
-            Page<PlotDTO> plots = plotService.getAllPlots(
+            Slice<PlotDTO> plots = plotService.getAllPlots(
                     page, size, sortBy, sortDir, status, 
-                    location, minPrice, maxPrice, minSize, maxSize);
+                    location, minPrice, maxPrice, minSize, maxSize, count, FieldSelection.ALL);
             System.out.println("AdminPlotController: Successfully retrieved " + plots.getContent().size() + " plots");
             return ResponseEntity.ok(plots);
         } catch (Exception e) {
@@ -54,6 +70,46 @@ public class AdminPlotController {
         }
     }
 
+    @GetMapping(value = "/scrollPlots")
+    public ResponseEntity<CursorPage<PlotDTO>> scrollPlots(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "12") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Double minSize,
+            @RequestParam(required = false) Double maxSize) {
+        CursorPage<PlotDTO> plots = plotService.scrollPlots(
+                cursor, size, sortBy, sortDir, status,
+                location, minPrice, maxPrice, minSize, maxSize);
+        return ResponseEntity.ok(plots);
+    }
+
+    @GetMapping(value = "/export")
+    public ResponseEntity<StreamingResponseBody> exportPlots(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        return exportService.exportPlots(format);
+    }
+
+    /**
+     * Bulk import from a CSV (with header row) or NDJSON upload; the format follows the file
+     * extension unless given. Rows that fail validation are reported, the others are imported.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportReportDTO> importPlots(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) ExportFormat format) throws IOException {
+        if (format == null) {
+            String name = file.getOriginalFilename();
+            format = name != null && name.toLowerCase().endsWith(".csv") ? ExportFormat.CSV : ExportFormat.NDJSON;
+        }
+        try (InputStream input = file.getInputStream()) {
+            return ResponseEntity.ok(plotImportService.importPlots(input, format));
+        }
+    }
+
     @GetMapping(value = "/getPlotById/{id}")
     public ResponseEntity<PlotDTO> getPlotById(@PathVariable Long id) {
         try {
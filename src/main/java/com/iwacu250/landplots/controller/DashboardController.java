@@ -1,13 +1,19 @@
 package com.iwacu250.landplots.controller;
 
+import com.iwacu250.landplots.dto.CacheStatsDTO;
 import com.iwacu250.landplots.dto.DashboardStatsDTO;
 import com.iwacu250.landplots.entity.Inquiry;
+import com.iwacu250.landplots.search.CountMode;
 import com.iwacu250.landplots.service.DashboardService;
+import com.iwacu250.landplots.service.ExportFormat;
+import com.iwacu250.landplots.service.ExportService;
 import com.iwacu250.landplots.service.InquiryService;
+import com.iwacu250.landplots.service.ReferenceCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/admin/dashboard")
@@ -20,18 +26,37 @@ public class DashboardController {
     @Autowired
     private InquiryService inquiryService;
 
+    @Autowired
+    private ReferenceCacheService referenceCacheService;
+
+    @Autowired
+    private ExportService exportService;
+
     @GetMapping(value = "/stats")
     public ResponseEntity<DashboardStatsDTO> getDashboardStats() {
         DashboardStatsDTO stats = dashboardService.getDashboardStats();
         return ResponseEntity.ok(stats);
     }
 
+    @GetMapping(value = "/cache-stats")
+    public ResponseEntity<CacheStatsDTO> getCacheStats() {
+        return ResponseEntity.ok(referenceCacheService.getStatistics());
+    }
+
     @GetMapping(value = "/inquiries")
-    public ResponseEntity<Page<Inquiry>> getInquiries(
+    public ResponseEntity<Slice<Inquiry>> getInquiries(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(required = false) String status) {
-        Page<Inquiry> inquiries = inquiryService.getAllInquiries(page, size, status);
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "EXACT") CountMode count) {
+        Slice<Inquiry> inquiries = inquiryService.getAllInquiries(page, size, status, count);
         return ResponseEntity.ok(inquiries);
     }
+
+    @GetMapping(value = "/inquiries/export")
+    public ResponseEntity<StreamingResponseBody> exportInquiries(
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        return exportService.exportInquiries(format, status);
+    }
 }
@@ -1,15 +1,25 @@
 package com.iwacu250.landplots.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iwacu250.landplots.dto.CursorPage;
+import com.iwacu250.landplots.dto.FacetCountsDTO;
+import com.iwacu250.landplots.dto.FacetedPage;
 import com.iwacu250.landplots.dto.HouseDTO;
 import com.iwacu250.landplots.entity.PropertyStatus;
 import com.iwacu250.landplots.entity.PropertyType;
+import com.iwacu250.landplots.search.CountMode;
+import com.iwacu250.landplots.search.FieldSelection;
+import com.iwacu250.landplots.search.ListingDetailCache;
+import com.iwacu250.landplots.service.ContentVersionService;
 import com.iwacu250.landplots.service.HouseService;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 
 @RestController
@@ -18,9 +28,16 @@ import org.springframework.web.bind.annotation.*;
 public class HouseController extends BaseController {
 
     private final HouseService houseService;
+    private final ObjectMapper objectMapper;
+    private final ListingDetailCache detailCache;
+    private final ContentVersionService contentVersions;
 
-    public HouseController(HouseService houseService) {
+    public HouseController(HouseService houseService, ObjectMapper objectMapper, ListingDetailCache detailCache,
+                           ContentVersionService contentVersions) {
         this.houseService = houseService;
+        this.objectMapper = objectMapper;
+        this.detailCache = detailCache;
+        this.contentVersions = contentVersions;
     }
 
     @PostMapping(value = "/createHouse")
@@ -39,29 +56,75 @@ public class HouseController extends BaseController {
     }
 
     @GetMapping(value = "/getHouseById/{id}")
-    public ResponseEntity<HouseDTO> getHouse(@PathVariable Long id) {
+    public ResponseEntity<?> getHouse(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        FieldSelection selection = FieldSelection.forHouses(fields, view);
+        if (contentVersions.house(id).checkNotModified(request)) {
+            return null;
+        }
+        if (selection.isAll()) {
+            // Full details are served from the serialized cache, gzipped when the client accepts it
+            return detailCache.house(id, () -> houseService.getHouseById(id)).toResponse(acceptEncoding);
+        }
         HouseDTO house = houseService.getHouseById(id);
-        return ok(house);
+        return ok(selection.trim(house, objectMapper));
     }
 
     @GetMapping(value = "/getAllHouses")
-    public ResponseEntity<Page<HouseDTO>> getAllHouses(
+    public ResponseEntity<?> getAllHouses(
             @PageableDefault(size = 10) Pageable pageable,
             @RequestParam(required = false) String location,
             @RequestParam(required = false) Double minPrice,
             @RequestParam(required = false) Double maxPrice,
             @RequestParam(required = false) Integer bedrooms,
             @RequestParam(required = false) PropertyType type,
-            @RequestParam(required = false) PropertyStatus status) {
+            @RequestParam(required = false) PropertyStatus status,
+            @RequestParam(defaultValue = "false") boolean facets,
+            @RequestParam(defaultValue = "EXACT") CountMode count,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            WebRequest request) {
         
+        FieldSelection selection = FieldSelection.forHouses(fields, view);
+        if (contentVersions.houses().checkNotModified(request)) {
+            return null;
+        }
+        Slice<HouseDTO> houses;
         if (location != null || minPrice != null || maxPrice != null || 
             bedrooms != null || type != null || status != null) {
             // Use search if any filter is provided
-            return ok(houseService.searchHouses(location, minPrice, maxPrice, bedrooms, type, status, pageable));
+            houses = houseService.searchHouses(location, minPrice, maxPrice, bedrooms, type, status, pageable, count, selection);
+        } else {
+            // Otherwise, return all houses with pagination
+            houses = houseService.getAllHouses(pageable, count, selection);
         }
+        return withFacets(selection.apply(houses, objectMapper), facets, location, minPrice, maxPrice, bedrooms, type, status);
+    }
+
+    @GetMapping(value = "/scrollHouses")
+    public ResponseEntity<CursorPage<HouseDTO>> scrollHouses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Integer bedrooms,
+            @RequestParam(required = false) PropertyType type,
+            @RequestParam(required = false) PropertyStatus status,
+            WebRequest request) {
         
-        // Otherwise, return all houses with pagination
-        return ok(houseService.getAllHouses(pageable));
+        if (contentVersions.houses().checkNotModified(request)) {
+            return null;
+        }
+        CursorPage<HouseDTO> results = houseService.scrollHouses(
+            cursor, size, sortBy, sortDir, location, minPrice, maxPrice, bedrooms, type, status);
+        return ok(results);
     }
 
     @DeleteMapping(value = "/deleteHouse/{id}")
@@ -71,17 +134,36 @@ public class HouseController extends BaseController {
     }
 
     @GetMapping(value = "/searchHouses")
-    public ResponseEntity<Page<HouseDTO>> searchHouses(
+    public ResponseEntity<?> searchHouses(
             @RequestParam(required = false) String location,
             @RequestParam(required = false) Double minPrice,
             @RequestParam(required = false) Double maxPrice,
             @RequestParam(required = false) Integer bedrooms,
             @RequestParam(required = false) PropertyType type,
             @RequestParam(required = false) PropertyStatus status,
-            @PageableDefault(size = 10) Pageable pageable) {
+            @RequestParam(defaultValue = "false") boolean facets,
+            @PageableDefault(size = 10) Pageable pageable,
+            @RequestParam(defaultValue = "EXACT") CountMode count,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            WebRequest request) {
         
-        Page<HouseDTO> results = houseService.searchHouses(
-            location, minPrice, maxPrice, bedrooms, type, status, pageable);
-        return ok(results);
+        FieldSelection selection = FieldSelection.forHouses(fields, view);
+        if (contentVersions.houses().checkNotModified(request)) {
+            return null;
+        }
+        Slice<HouseDTO> results = houseService.searchHouses(
+            location, minPrice, maxPrice, bedrooms, type, status, pageable, count, selection);
+        return withFacets(selection.apply(results, objectMapper), facets, location, minPrice, maxPrice, bedrooms, type, status);
+    }
+
+    private ResponseEntity<?> withFacets(Slice<?> houses, boolean facets, String location,
+                                         Double minPrice, Double maxPrice, Integer bedrooms,
+                                         PropertyType type, PropertyStatus status) {
+        if (!facets) {
+            return ok(houses);
+        }
+        FacetCountsDTO counts = houseService.getHouseFacets(location, minPrice, maxPrice, bedrooms, type, status);
+        return ok(FacetedPage.of(houses, counts));
     }
 }
@@ -1,14 +1,18 @@
 package com.iwacu250.landplots.controller;
 
 import com.iwacu250.landplots.dto.HouseFeatureDTO;
+import com.iwacu250.landplots.search.CountMode;
+import com.iwacu250.landplots.service.ContentVersionService;
 import com.iwacu250.landplots.service.HouseFeatureService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.lang.NonNull;
 
 import org.springframework.web.util.UriComponentsBuilder;
@@ -20,9 +24,11 @@ import org.springframework.web.util.UriComponentsBuilder;
 public class HouseFeatureController extends BaseController {
 
     private final HouseFeatureService featureService;
+    private final ContentVersionService contentVersions;
 
-    public HouseFeatureController(HouseFeatureService featureService) {
+    public HouseFeatureController(HouseFeatureService featureService, ContentVersionService contentVersions) {
         this.featureService = featureService;
+        this.contentVersions = contentVersions;
     }
 
     @PostMapping(value = "/createFeature")
@@ -54,21 +60,35 @@ public class HouseFeatureController extends BaseController {
 
     @GetMapping(value = "/getFeature/{id}")
     public ResponseEntity<HouseFeatureDTO> getFeature(
-            @PathVariable @Min(value = 1, message = "ID must be a positive number") Long id) {
+            @PathVariable @Min(value = 1, message = "ID must be a positive number") Long id,
+            WebRequest request) {
+        if (contentVersions.features().checkNotModified(request)) {
+            return null;
+        }
         HouseFeatureDTO feature = featureService.getFeatureById(id);
         return ok(feature);
     }
 
     @GetMapping(value = "/getAllFeatures")
-    public ResponseEntity<Page<HouseFeatureDTO>> getAllFeatures(Pageable pageable) {
-        Page<HouseFeatureDTO> features = featureService.getAllFeatures(pageable);
+    public ResponseEntity<Slice<HouseFeatureDTO>> getAllFeatures(
+            Pageable pageable,
+            @RequestParam(defaultValue = "EXACT") CountMode count,
+            WebRequest request) {
+        if (contentVersions.features().checkNotModified(request)) {
+            return null;
+        }
+        Slice<HouseFeatureDTO> features = featureService.getAllFeatures(pageable, count);
         return ok(features);
     }
 
     @GetMapping(value = "/searchFeatures")
     public ResponseEntity<Page<HouseFeatureDTO>> searchFeatures(
             @RequestParam String query,
-            Pageable pageable) {
+            Pageable pageable,
+            WebRequest request) {
+        if (contentVersions.features().checkNotModified(request)) {
+            return null;
+        }
         Page<HouseFeatureDTO> features = featureService.searchFeatures(query, pageable);
         return ok(features);
     }
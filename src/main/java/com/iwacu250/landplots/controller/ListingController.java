@@ -0,0 +1,112 @@
+package com.iwacu250.landplots.controller;
+
+import com.iwacu250.landplots.dto.GeoArea;
+import com.iwacu250.landplots.dto.ListingClusterDTO;
+import com.iwacu250.landplots.dto.ListingSummaryDTO;
+import com.iwacu250.landplots.dto.LocationSuggestionDTO;
+import com.iwacu250.landplots.entity.PropertyStatus;
+import com.iwacu250.landplots.entity.PropertyType;
+import com.iwacu250.landplots.exception.InvalidBoundingBoxException;
+import com.iwacu250.landplots.search.ListingClusterService;
+import com.iwacu250.landplots.search.ListingType;
+import com.iwacu250.landplots.search.LocationAutocompleteService;
+import com.iwacu250.landplots.service.ListingSearchService;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Combined plot and house search over the listing_search read model, including map-area
+ * (bounding box / radius), nearest-listing, map cluster and location typeahead queries.
+ */
+@RestController
+@RequestMapping("/api/listings")
+@CrossOrigin(origins = {"https://iwacu250.com/", "https://www.iwacu250.com/"})
+public class ListingController extends BaseController {
+
+    private final ListingSearchService listingSearchService;
+    private final ListingClusterService listingClusterService;
+    private final LocationAutocompleteService locationAutocompleteService;
+
+    public ListingController(ListingSearchService listingSearchService,
+                             ListingClusterService listingClusterService,
+                             LocationAutocompleteService locationAutocompleteService) {
+        this.listingSearchService = listingSearchService;
+        this.listingClusterService = listingClusterService;
+        this.locationAutocompleteService = locationAutocompleteService;
+    }
+
+    @GetMapping(value = "/search")
+    public ResponseEntity<Page<ListingSummaryDTO>> search(
+            @RequestParam(required = false) ListingType listingType,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) PropertyStatus status,
+            @RequestParam(required = false) PropertyType type,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Double minSize,
+            @RequestParam(required = false) Double maxSize,
+            @RequestParam(required = false) Integer bedrooms,
+            GeoArea area,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "12") int size) {
+        
+        Page<ListingSummaryDTO> results = listingSearchService.search(
+            listingType, location, status, type, minPrice, maxPrice, minSize, maxSize, bedrooms,
+            area, sortBy, sortDir, page, size);
+        return ok(results);
+    }
+
+    @GetMapping(value = "/nearest")
+    public ResponseEntity<List<ListingSummaryDTO>> nearest(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) ListingType listingType,
+            @RequestParam(required = false) PropertyStatus status) {
+        
+        return ok(listingSearchService.findNearest(lat, lng, limit, listingType, status, radiusKm));
+    }
+
+    @GetMapping(value = "/clusters")
+    public ResponseEntity<List<ListingClusterDTO>> clusters(
+            @RequestParam String bbox,
+            @RequestParam int zoom) {
+        
+        double[] box = parseBoundingBox(bbox);
+        return ok(listingClusterService.clusters(zoom, box[1], box[0], box[3], box[2]));
+    }
+
+    @GetMapping(value = "/autocomplete")
+    public ResponseEntity<List<LocationSuggestionDTO>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit) {
+        
+        return ok(locationAutocompleteService.suggest(q, limit));
+    }
+
+    // bbox=minLng,minLat,maxLng,maxLat, the order used by most map libraries
+    private double[] parseBoundingBox(String bbox) {
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) {
+            throw new InvalidBoundingBoxException(bbox);
+        }
+        double[] box = new double[4];
+        try {
+            for (int i = 0; i < 4; i++) {
+                box[i] = Double.parseDouble(parts[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidBoundingBoxException(bbox);
+        }
+        if (box[0] > box[2] || box[1] > box[3]) {
+            throw new InvalidBoundingBoxException(bbox);
+        }
+        return box;
+    }
+}
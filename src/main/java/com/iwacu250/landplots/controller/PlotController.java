@@ -1,11 +1,21 @@
 package com.iwacu250.landplots.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iwacu250.landplots.dto.CursorPage;
+import com.iwacu250.landplots.dto.FacetCountsDTO;
+import com.iwacu250.landplots.dto.FacetedPage;
 import com.iwacu250.landplots.dto.PlotDTO;
+import com.iwacu250.landplots.search.CountMode;
+import com.iwacu250.landplots.search.FieldSelection;
+import com.iwacu250.landplots.search.ListingDetailCache;
+import com.iwacu250.landplots.service.ContentVersionService;
 import com.iwacu250.landplots.service.PlotService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,8 +27,17 @@ public class PlotController {
     @Autowired
     private PlotService plotService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ListingDetailCache detailCache;
+
+    @Autowired
+    private ContentVersionService contentVersions;
+
     @GetMapping(value = {"", "/getAllPlots"})
-    public ResponseEntity<Page<PlotDTO>> getAllPlots(
+    public ResponseEntity<?> getAllPlots(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size,
             @RequestParam(defaultValue = "id") String sortBy,
@@ -28,38 +47,91 @@ public class PlotController {
             @RequestParam(required = false) Double minPrice,
             @RequestParam(required = false) Double maxPrice,
             @RequestParam(required = false) Double minSize,
-            @RequestParam(required = false) Double maxSize) {
+            @RequestParam(required = false) Double maxSize,
+            @RequestParam(defaultValue = "false") boolean facets,
+            @RequestParam(defaultValue = "EXACT") CountMode count,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            WebRequest request) {
+        
+        // Unknown fields or views are rejected before any query runs
+        FieldSelection selection = FieldSelection.forPlots(fields, view);
+        if (contentVersions.plots().checkNotModified(request)) {
+            return null;
+        }
+
+        // Validate sort direction; unknown sort keys fall back to id in the service
+        String direction = "desc".equalsIgnoreCase(sortDir) ? "desc" : "asc";
+        
+        // Default to AVAILABLE status for public endpoint
+        String searchStatus = (status != null) ? status : "AVAILABLE";
+        
+        Slice<PlotDTO> plots = plotService.getAllPlots(
+                page, size, sortBy, direction, searchStatus, 
+                location, minPrice, maxPrice, minSize, maxSize, count, selection);
+        Slice<?> body = selection.apply(plots, objectMapper);
+        if (facets) {
+            FacetCountsDTO counts = plotService.getPlotFacets(
+                    searchStatus, location, minPrice, maxPrice, minSize, maxSize);
+            return ResponseEntity.ok(FacetedPage.of(body, counts));
+        }
+        return ResponseEntity.ok(body);
+    }
+
+    @GetMapping(value = {"/scroll", "/scrollPlots"})
+    public ResponseEntity<CursorPage<PlotDTO>> scrollPlots(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "12") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Double minSize,
+            @RequestParam(required = false) Double maxSize,
+            WebRequest request) {
         
-        try {
-            // Validate sort direction
-            String direction = "desc".equalsIgnoreCase(sortDir) ? "desc" : "asc";
-            
-            // Default to AVAILABLE status for public endpoint
-            String searchStatus = (status != null) ? status : "AVAILABLE";
-            
-            Page<PlotDTO> plots = plotService.getAllPlots(
-                    page, size, sortBy, direction, searchStatus, 
-                    location, minPrice, maxPrice, minSize, maxSize);
-            return ResponseEntity.ok(plots);
-        } catch (Exception e) {
-            // Fallback to default sorting if there's an error
-            Page<PlotDTO> plots = plotService.getAllPlots(
-                    page, size, "id", "desc", "AVAILABLE", 
-                    location, minPrice, maxPrice, minSize, maxSize);
-            return ResponseEntity.ok(plots);
+        if (contentVersions.plots().checkNotModified(request)) {
+            return null;
         }
+
+        // Default to AVAILABLE status for public endpoint
+        String searchStatus = (status != null) ? status : "AVAILABLE";
+        
+        CursorPage<PlotDTO> plots = plotService.scrollPlots(
+                cursor, size, sortBy, sortDir, searchStatus,
+                location, minPrice, maxPrice, minSize, maxSize);
+        return ResponseEntity.ok(plots);
     }
 
     @GetMapping(value = {"/featured", "/getFeaturedPlots"})
     public ResponseEntity<List<PlotDTO>> getFeaturedPlots(
-            @RequestParam(defaultValue = "6") int limit) {
+            @RequestParam(defaultValue = "6") int limit,
+            WebRequest request) {
+        if (contentVersions.plots().checkNotModified(request)) {
+            return null;
+        }
         List<PlotDTO> plots = plotService.getFeaturedPlots(limit);
         return ResponseEntity.ok(plots);
     }
 
     @GetMapping(value = {"/{id}", "/getPlotById/{id}"})
-    public ResponseEntity<PlotDTO> getPlotById(@PathVariable Long id) {
+    public ResponseEntity<?> getPlotById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        FieldSelection selection = FieldSelection.forPlots(fields, view);
+        if (contentVersions.plot(id).checkNotModified(request)) {
+            return null;
+        }
+        if (selection.isAll()) {
+            // Full details are served from the serialized cache, gzipped when the client accepts it
+            return detailCache.plot(id, () -> plotService.getPlotById(id)).toResponse(acceptEncoding);
+        }
         PlotDTO plot = plotService.getPlotById(id);
-        return ResponseEntity.ok(plot);
+        return ResponseEntity.ok(selection.trim(plot, objectMapper));
     }
 }
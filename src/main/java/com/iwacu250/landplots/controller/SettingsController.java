@@ -1,9 +1,11 @@
 package com.iwacu250.landplots.controller;
 
+import com.iwacu250.landplots.service.ContentVersionService;
 import com.iwacu250.landplots.service.SettingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Map;
 
@@ -15,20 +17,32 @@ public class SettingsController {
     @Autowired
     private SettingService settingService;
 
+    @Autowired
+    private ContentVersionService contentVersions;
+
     @GetMapping(value = "/getPublicSettings")
-    public ResponseEntity<Map<String, String>> getPublicSettings() {
+    public ResponseEntity<Map<String, String>> getPublicSettings(WebRequest request) {
+        if (contentVersions.publicSettings().checkNotModified(request)) {
+            return null;
+        }
         Map<String, String> settings = settingService.getPublicSettings();
         return ResponseEntity.ok(settings);
     }
 
     @GetMapping(value = "/public")
-    public ResponseEntity<Map<String, String>> getPublicSettingsAlt() {
+    public ResponseEntity<Map<String, String>> getPublicSettingsAlt(WebRequest request) {
+        if (contentVersions.publicSettings().checkNotModified(request)) {
+            return null;
+        }
         Map<String, String> settings = settingService.getPublicSettings();
         return ResponseEntity.ok(settings);
     }
 
     @GetMapping(value = "/getAllSettings")
-    public ResponseEntity<Map<String, String>> getAllSettings() {
+    public ResponseEntity<Map<String, String>> getAllSettings(WebRequest request) {
+        if (contentVersions.allSettings().checkNotModified(request)) {
+            return null;
+        }
         try {
             System.out.println("SettingsController: Received request for getAllSettings");
             Map<String, String> settings = settingService.getAllSettings();
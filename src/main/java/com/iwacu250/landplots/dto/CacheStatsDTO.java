@@ -0,0 +1,35 @@
+package com.iwacu250.landplots.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDTO {
+    // False unless hibernate.generate_statistics is on; the counters are then left empty
+    private boolean enabled;
+
+    // One entry per cache region: entities, natural ids, query results and update timestamps
+    private List<Region> regions;
+
+    // Cached queries (findByName, findBySettingKey, ...)
+    private Long queryCacheHits;
+    private Long queryCacheMisses;
+    private Long queryCachePuts;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Region {
+        private String name;
+        private Long hits;
+        private Long misses;
+        private Long puts;
+        // null when the provider does not report it
+        private Long entries;
+    }
+}
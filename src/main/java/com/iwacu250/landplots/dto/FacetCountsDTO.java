@@ -0,0 +1,21 @@
+package com.iwacu250.landplots.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-value counts for the search sidebar. Each facet is counted with every active filter
+ * except its own, so selecting a status still shows how many listings the other statuses hold.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FacetCountsDTO {
+    private Map<String, Long> status = new LinkedHashMap<>();
+    private Map<String, Long> type;
+    private Map<String, Long> bedrooms;
+    private Map<String, Long> price = new LinkedHashMap<>();
+    private Map<String, Long> size = new LinkedHashMap<>();
+}
@@ -0,0 +1,37 @@
+package com.iwacu250.landplots.dto;
+
+import lombok.Data;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Page of results returned together with its facet counts. Mirrors the top-level fields of a
+ * serialized Spring Page so existing clients can read it the same way; the totals are null when
+ * the page was loaded without a count.
+ */
+@Data
+public class FacetedPage<T> {
+    private List<T> content;
+    private int number;
+    private int size;
+    private Long totalElements;
+    private Integer totalPages;
+    private boolean last;
+    private FacetCountsDTO facets;
+
+    public static <T> FacetedPage<T> of(Slice<T> page, FacetCountsDTO facets) {
+        FacetedPage<T> result = new FacetedPage<>();
+        result.setContent(page.getContent());
+        result.setNumber(page.getNumber());
+        result.setSize(page.getSize());
+        result.setLast(page.isLast());
+        if (page instanceof Page<T> counted) {
+            result.setTotalElements(counted.getTotalElements());
+            result.setTotalPages(counted.getTotalPages());
+        }
+        result.setFacets(facets);
+        return result;
+    }
+}
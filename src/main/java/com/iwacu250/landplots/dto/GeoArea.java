@@ -0,0 +1,26 @@
+package com.iwacu250.landplots.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Optional map area of a listing search, bound from query parameters: a bounding box
+ * (minLat/minLng/maxLat/maxLng), a centre point (lat/lng) with an optional radius in km, or both.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeoArea {
+    private Double minLat;
+    private Double minLng;
+    private Double maxLat;
+    private Double maxLng;
+    private Double lat;
+    private Double lng;
+    private Double radiusKm;
+
+    public boolean hasPoint() {
+        return lat != null && lng != null;
+    }
+}
@@ -24,6 +24,14 @@ public class HouseDTO {
     @Size(max = 200, message = "Location must be less than 200 characters")
     private String location;
 
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
     @NotNull(message = "Size is required")
     @DecimalMin(value = "0.01", message = "Size must be greater than 0")
     @Digits(integer = 10, fraction = 2, message = "Size must have up to 10 digits before and 2 after decimal")
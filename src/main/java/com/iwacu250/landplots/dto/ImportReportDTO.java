@@ -0,0 +1,33 @@
+package com.iwacu250.landplots.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ImportReportDTO {
+    // Data rows read, not counting the CSV header or blank lines
+    private int totalRows;
+    private int imported;
+    private int failed;
+    // One entry per rejected row, in file order
+    private List<RowError> errors = new ArrayList<>();
+
+    public void addError(long line, String message) {
+        failed++;
+        errors.add(new RowError(line, message));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        // 1-based line of the file where the row starts
+        private long line;
+        private String message;
+    }
+}
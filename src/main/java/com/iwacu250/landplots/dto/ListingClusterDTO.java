@@ -0,0 +1,23 @@
+package com.iwacu250.landplots.dto;
+
+import com.iwacu250.landplots.search.ListingType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One map cluster: how many available listings fall in the cell, the cheapest price and the
+ * centroid to draw the marker at. {@code listingType}/{@code listingId} are only set when the
+ * cell holds a single listing.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ListingClusterDTO {
+    private int count;
+    private Double minPrice;
+    private Double latitude;
+    private Double longitude;
+    private ListingType listingType;
+    private Long listingId;
+}
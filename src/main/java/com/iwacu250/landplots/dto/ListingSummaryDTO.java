@@ -0,0 +1,37 @@
+package com.iwacu250.landplots.dto;
+
+import com.iwacu250.landplots.entity.PropertyStatus;
+import com.iwacu250.landplots.entity.PropertyType;
+import com.iwacu250.landplots.search.ListingType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Card-sized view of a plot or house from the combined listing search. {@code id} is the plot or
+ * house id; use {@code listingType} to pick the detail endpoint.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ListingSummaryDTO {
+    private ListingType listingType;
+    private Long id;
+    private String title;
+    private String location;
+    private Double latitude;
+    private Double longitude;
+    // Only set when the search was centred on a point
+    private Double distanceKm;
+    private Double price;
+    private String currency;
+    private Double size;
+    private String sizeUnit;
+    private Integer bedrooms;
+    private PropertyStatus status;
+    private PropertyType propertyType;
+    private String featuredImageUrl;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,14 @@
+package com.iwacu250.landplots.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationSuggestionDTO {
+    private String location;
+    // Number of plots and houses listed at this location
+    private int count;
+}
@@ -18,6 +18,8 @@ public class PlotDTO {
     private Long id;
     private String title;
     private String location;
+    private Double latitude;
+    private Double longitude;
     private Double size;
     private String sizeUnit;
     private Double price;
@@ -7,12 +7,19 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "features")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,9 +28,12 @@ import java.util.Set;
 public class Feature {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "features_seq")
+    @SequenceGenerator(name = "features_seq", sequenceName = "features_seq", allocationSize = 50)
     private Long id;
 
+    // Mutable: the same row is renamed through HouseFeature
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true, length = 100)
     private String name;
 
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.Hibernate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
@@ -16,6 +17,10 @@ import java.util.HashSet;
 
 @Entity
 @Table(name = "houses")
+// Detail reads load the house with its images in one statement and its feature joins (and their
+// features) with batch selects (hibernate.default_batch_fetch_size). Fetch-joining both would
+// repeat every image once per feature, since images is a bag; list pages batch-fetch both
+@NamedEntityGraph(name = "House.detail", attributeNodes = @NamedAttributeNode("images"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,7 +28,8 @@ import java.util.HashSet;
 public class House {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "houses_seq")
+    @SequenceGenerator(name = "houses_seq", sequenceName = "houses_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -32,6 +38,13 @@ public class House {
     @Column(nullable = false)
     private String location;
 
+    // WGS84 coordinates; optional, listings without them are left out of map and proximity searches
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
     @Column(nullable = false)
     private Double size;
 
@@ -100,21 +113,15 @@ public class House {
             houseFeatures = new HashMap<>();
         }
         
-        // Check if this feature is already associated
-        boolean exists = houseFeatures.values().stream()
-            .anyMatch(j -> j.getFeature() != null && j.getFeature().getId() != null && 
-                         j.getFeature().getId().equals(feature.getId()));
-        
-        if (!exists) {
+        // The map is keyed by (house id, feature id), so this is a lookup rather than a scan
+        HouseFeatureJoinId id = new HouseFeatureJoinId(this.id, feature.getId());
+        if (!houseFeatures.containsKey(id)) {
             HouseFeatureJoin join = new HouseFeatureJoin();
             join.setHouse(this);
             join.setFeature(feature);
             join.setName(feature.getName());
             join.setDescription(feature.getDescription());
             join.setIcon(feature.getIcon());
-            
-            // Create and set the ID
-            HouseFeatureJoinId id = new HouseFeatureJoinId(this.id, feature.getId());
             join.setId(id);
             
             houseFeatures.put(id, join);
@@ -123,21 +130,15 @@ public class House {
     
     public void removeFeature(HouseFeature feature) {
         if (houseFeatures != null && feature != null && feature.getId() != null) {
-            // Find and remove the join for this feature
-            houseFeatures.entrySet().removeIf(entry -> {
-                HouseFeatureJoin join = entry.getValue();
-                if (join.getFeature() != null && join.getFeature().getId() != null && 
-                    join.getFeature().getId().equals(feature.getId())) {
-                    // Remove this join from the feature's side
-                    if (join.getFeature() != null) {
-                        join.getFeature().getHouseJoins().remove(join);
-                    }
-                    // Clear the reference to house
-                    join.setHouse(null);
-                    return true;
+            HouseFeatureJoin join = houseFeatures.remove(new HouseFeatureJoinId(this.id, feature.getId()));
+            if (join != null) {
+                // Only keep the feature's side in step if it is loaded; initializing it would
+                // load the joins of every house that has this feature
+                if (Hibernate.isInitialized(feature.getHouseJoins())) {
+                    feature.getHouseJoins().remove(join);
                 }
-                return false;
-            });
+                join.setHouse(null);
+            }
         }
     }
 
@@ -3,20 +3,30 @@ package com.iwacu250.landplots.entity;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "features")  // Changed table name to avoid conflict with join table
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 @Data
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class HouseFeature {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Same table as Feature, so the same sequence; generator names are global, hence a separate one
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "house_feature_seq")
+    @SequenceGenerator(name = "house_feature_seq", sequenceName = "features_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true)
     @EqualsAndHashCode.Include
     private String name;
@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class HouseImage {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "house_images_seq")
+    @SequenceGenerator(name = "house_images_seq", sequenceName = "house_images_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, name = "image_url", length = 500)
@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class Inquiry {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inquiries_seq")
+    @SequenceGenerator(name = "inquiries_seq", sequenceName = "inquiries_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
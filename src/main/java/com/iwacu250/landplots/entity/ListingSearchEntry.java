@@ -0,0 +1,75 @@
+package com.iwacu250.landplots.entity;
+
+import com.iwacu250.landplots.search.ListingType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized row of the listing_search read model: one per plot or house, holding only what
+ * list pages show and filter on. Written by ListingSearchProjector in the same transaction as the
+ * plot/house change; never edited directly.
+ */
+@Entity
+@Table(name = "listing_search",
+        uniqueConstraints = @UniqueConstraint(name = "uk_listing_search_listing",
+                columnNames = {"listing_type", "listing_id"}))
+@Data
+@NoArgsConstructor
+public class ListingSearchEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "listing_search_seq")
+    @SequenceGenerator(name = "listing_search_seq", sequenceName = "listing_search_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "listing_type", nullable = false, length = 10)
+    private ListingType listingType;
+
+    @Column(name = "listing_id", nullable = false)
+    private Long listingId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false)
+    private String location;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    @Column(nullable = false)
+    private Double price;
+
+    @Column(length = 10)
+    private String currency;
+
+    @Column(nullable = false)
+    private Double size;
+
+    @Column(name = "size_unit", length = 20)
+    private String sizeUnit;
+
+    private Integer bedrooms;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private PropertyStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", length = 20)
+    private PropertyType propertyType;
+
+    @Column(name = "featured_image_url", length = 500)
+    private String featuredImageUrl;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -15,6 +15,10 @@ import java.util.Set;
 
 @Entity
 @Table(name = "plots")
+// Detail reads load the plot with its images in one statement and its features with one batch
+// select (hibernate.default_batch_fetch_size). Fetch-joining both collections would repeat every
+// image once per feature, since images is a bag; list pages rely on batch fetching for both
+@NamedEntityGraph(name = "Plot.detail", attributeNodes = @NamedAttributeNode("images"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,7 +27,9 @@ import java.util.Set;
 public class Plot {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence: ids come 50 per round trip and inserts can be JDBC-batched (see db/id-sequences.sql)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "plots_seq")
+    @SequenceGenerator(name = "plots_seq", sequenceName = "plots_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -32,6 +38,13 @@ public class Plot {
     @Column(nullable = false)
     private String location;
 
+    // WGS84 coordinates; optional, listings without them are left out of map and proximity searches
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
     @Column(nullable = false)
     private Double size;
 
@@ -1,6 +1,7 @@
 package com.iwacu250.landplots.exception;
 
 import com.iwacu250.landplots.dto.ApiResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -112,6 +113,58 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage(), HttpStatus.CONFLICT.value()));
     }
     
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResponse<Void>> handleInvalidCursorException(
+            InvalidCursorException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(ex.getMessage(), HttpStatus.BAD_REQUEST.value()));
+    }
+    
+    @ExceptionHandler(InvalidBoundingBoxException.class)
+    public ResponseEntity<ApiResponse<Void>> handleInvalidBoundingBoxException(
+            InvalidBoundingBoxException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(ex.getMessage(), HttpStatus.BAD_REQUEST.value()));
+    }
+    
+    @ExceptionHandler(InvalidFieldsException.class)
+    public ResponseEntity<ApiResponse<Void>> handleInvalidFieldsException(
+            InvalidFieldsException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(ex.getMessage(), HttpStatus.BAD_REQUEST.value()));
+    }
+    
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<ApiResponse<Void>> handleInvalidImportException(
+            InvalidImportException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(ex.getMessage(), HttpStatus.BAD_REQUEST.value()));
+    }
+    
+    // In-memory indexes build at startup; clients can retry once the load is done
+    @ExceptionHandler(IndexNotReadyException.class)
+    public ResponseEntity<ApiResponse<Void>> handleIndexNotReadyException(
+            IndexNotReadyException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(ApiResponse.error(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE.value()));
+    }
+    
+    // Each export holds a pooled connection until it finishes, so they are capped below the pool size
+    @ExceptionHandler(TooManyExportsException.class)
+    public ResponseEntity<ApiResponse<Void>> handleTooManyExportsException(
+            TooManyExportsException ex) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(ApiResponse.error(ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS.value()));
+    }
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<Void>> handleAllUncaughtException(
             Exception ex, WebRequest request) {
@@ -0,0 +1,11 @@
+package com.iwacu250.landplots.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class IndexNotReadyException extends RuntimeException {
+    public IndexNotReadyException(String index) {
+        super(String.format("The %s are still being loaded, please retry shortly", index));
+    }
+}
@@ -0,0 +1,11 @@
+package com.iwacu250.landplots.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidBoundingBoxException extends RuntimeException {
+    public InvalidBoundingBoxException(String bbox) {
+        super(String.format("Invalid bounding box '%s', expected minLng,minLat,maxLng,maxLat", bbox));
+    }
+}
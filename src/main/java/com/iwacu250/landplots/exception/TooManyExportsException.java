@@ -0,0 +1,11 @@
+package com.iwacu250.landplots.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyExportsException extends RuntimeException {
+    public TooManyExportsException(int maxConcurrent) {
+        super(String.format("At most %d exports can run at once, please retry shortly", maxConcurrent));
+    }
+}
@@ -21,6 +21,8 @@ public class HouseMapper {
         dto.setDescription(entity.getDescription());
         dto.setPrice(entity.getPrice());
         dto.setLocation(entity.getLocation());
+        dto.setLatitude(entity.getLatitude());
+        dto.setLongitude(entity.getLongitude());
         dto.setBedrooms(entity.getBedrooms());
         dto.setBathrooms(entity.getBathrooms() != null ? entity.getBathrooms().doubleValue() : null);
         dto.setSize(entity.getSize());
@@ -67,6 +69,8 @@ public class HouseMapper {
         entity.setDescription(dto.getDescription());
         entity.setPrice(dto.getPrice());
         entity.setLocation(dto.getLocation());
+        entity.setLatitude(dto.getLatitude());
+        entity.setLongitude(dto.getLongitude());
         entity.setBedrooms(dto.getBedrooms());
         entity.setBathrooms(dto.getBathrooms() != null ? dto.getBathrooms().intValue() : null);
         entity.setSize(dto.getSize());
@@ -94,6 +98,8 @@ public class HouseMapper {
         if (dto.getDescription() != null) entity.setDescription(dto.getDescription());
         if (dto.getPrice() != null) entity.setPrice(dto.getPrice());
         if (dto.getLocation() != null) entity.setLocation(dto.getLocation());
+        if (dto.getLatitude() != null) entity.setLatitude(dto.getLatitude());
+        if (dto.getLongitude() != null) entity.setLongitude(dto.getLongitude());
         if (dto.getBedrooms() != null) entity.setBedrooms(dto.getBedrooms());
         if (dto.getBathrooms() != null) entity.setBathrooms(dto.getBathrooms().intValue());
         if (dto.getSize() != null) entity.setSize(dto.getSize());
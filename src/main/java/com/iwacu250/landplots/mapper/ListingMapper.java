@@ -0,0 +1,31 @@
+package com.iwacu250.landplots.mapper;
+
+import com.iwacu250.landplots.dto.ListingSummaryDTO;
+import com.iwacu250.landplots.entity.ListingSearchEntry;
+
+public class ListingMapper {
+
+    public static ListingSummaryDTO toDto(ListingSearchEntry entry) {
+        if (entry == null) {
+            return null;
+        }
+
+        ListingSummaryDTO dto = new ListingSummaryDTO();
+        dto.setListingType(entry.getListingType());
+        dto.setId(entry.getListingId());
+        dto.setTitle(entry.getTitle());
+        dto.setLocation(entry.getLocation());
+        dto.setLatitude(entry.getLatitude());
+        dto.setLongitude(entry.getLongitude());
+        dto.setPrice(entry.getPrice());
+        dto.setCurrency(entry.getCurrency());
+        dto.setSize(entry.getSize());
+        dto.setSizeUnit(entry.getSizeUnit());
+        dto.setBedrooms(entry.getBedrooms());
+        dto.setStatus(entry.getStatus());
+        dto.setPropertyType(entry.getPropertyType());
+        dto.setFeaturedImageUrl(entry.getFeaturedImageUrl());
+        dto.setCreatedAt(entry.getCreatedAt());
+        return dto;
+    }
+}
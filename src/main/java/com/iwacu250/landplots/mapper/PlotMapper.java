@@ -23,6 +23,8 @@ public class PlotMapper {
         dto.setId(plot.getId());
         dto.setTitle(plot.getTitle());
         dto.setLocation(plot.getLocation());
+        dto.setLatitude(plot.getLatitude());
+        dto.setLongitude(plot.getLongitude());
         dto.setSize(plot.getSize());
         dto.setSizeUnit(plot.getSizeUnit());
         dto.setPrice(plot.getPrice());
@@ -60,6 +62,8 @@ public class PlotMapper {
 
         plot.setTitle(dto.getTitle());
         plot.setLocation(dto.getLocation());
+        plot.setLatitude(dto.getLatitude());
+        plot.setLongitude(dto.getLongitude());
         plot.setSize(dto.getSize());
         plot.setSizeUnit(dto.getSizeUnit());
         plot.setPrice(dto.getPrice());
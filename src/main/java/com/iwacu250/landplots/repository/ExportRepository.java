@@ -0,0 +1,70 @@
+package com.iwacu250.landplots.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+
+/**
+ * Full-table reads for the export endpoints. Rows come through a forward-only cursor, fetched
+ * {@code export.fetch-size} at a time, so memory stays flat whatever the table size. The
+ * Postgres driver only uses a cursor when auto-commit is off: call these inside a transaction,
+ * otherwise the whole result is read into memory first.
+ * <p>
+ * Column labels are quoted camelCase so the exported names match the API's JSON properties.
+ */
+@Repository
+public class ExportRepository {
+
+    private static final String PLOT_SQL =
+            "SELECT p.id, p.title, p.location, p.latitude, p.longitude, p.size, p.size_unit AS \"sizeUnit\", " +
+            "       p.price, p.currency, p.status, p.description, " +
+            "       p.featured_image_url AS \"featuredImageUrl\", p.video_url AS \"videoUrl\", " +
+            "       (SELECT string_agg(f.name, '|' ORDER BY f.name) FROM plot_features pf " +
+            "          JOIN features f ON f.id = pf.feature_id WHERE pf.plot_id = p.id) AS features, " +
+            "       p.created_at AS \"createdAt\", p.updated_at AS \"updatedAt\" " +
+            "FROM plots p ORDER BY p.id";
+
+    private static final String HOUSE_SQL =
+            "SELECT h.id, h.title, h.location, h.latitude, h.longitude, h.size, h.size_unit AS \"sizeUnit\", " +
+            "       h.price, h.currency, h.type, h.bedrooms, h.bathrooms, h.year_built AS \"yearBuilt\", " +
+            "       h.floors, h.status, h.description, " +
+            "       h.featured_image_url AS \"featuredImageUrl\", h.video_url AS \"videoUrl\", " +
+            "       (SELECT string_agg(f.name, '|' ORDER BY f.name) FROM house_features hf " +
+            "          JOIN features f ON f.id = hf.feature_id WHERE hf.house_id = h.id) AS features, " +
+            "       h.created_at AS \"createdAt\", h.updated_at AS \"updatedAt\" " +
+            "FROM houses h ORDER BY h.id";
+
+    private static final String INQUIRY_SQL =
+            "SELECT i.id, i.name, i.email, i.phone, i.plot_id AS \"plotId\", i.message, i.status, " +
+            "       i.created_at AS \"createdAt\" " +
+            "FROM inquiries i";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExportRepository(DataSource dataSource, @Value("${export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    public <T> T streamPlots(ResultSetExtractor<T> extractor) {
+        return jdbcTemplate.query(PLOT_SQL, extractor);
+    }
+
+    public <T> T streamHouses(ResultSetExtractor<T> extractor) {
+        return jdbcTemplate.query(HOUSE_SQL, extractor);
+    }
+
+    /**
+     * @param status only inquiries with this status, or every inquiry when null
+     */
+    public <T> T streamInquiries(String status, ResultSetExtractor<T> extractor) {
+        if (status == null) {
+            return jdbcTemplate.query(INQUIRY_SQL + " ORDER BY i.created_at DESC, i.id DESC", extractor);
+        }
+        return jdbcTemplate.query(INQUIRY_SQL + " WHERE i.status = ? ORDER BY i.created_at DESC, i.id DESC",
+                extractor, status);
+    }
+}
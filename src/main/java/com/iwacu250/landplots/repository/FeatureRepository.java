@@ -1,6 +1,9 @@
 package com.iwacu250.landplots.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.iwacu250.landplots.entity.Feature;
@@ -9,5 +12,6 @@ import java.util.Optional;
 
 @Repository
 public interface FeatureRepository extends JpaRepository<Feature, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Feature> findByName(String name);
 }
@@ -7,9 +7,14 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface HouseFeatureJoinRepository extends JpaRepository<HouseFeatureJoin, HouseFeatureJoinId> {
     
     @Query("SELECT COUNT(j) > 0 FROM HouseFeatureJoin j WHERE j.house.id = :houseId AND j.feature.id = :featureId")
     boolean existsByHouseIdAndFeatureId(@Param("houseId") Long houseId, @Param("featureId") Long featureId);
+
+    @Query("SELECT j.id.houseId FROM HouseFeatureJoin j WHERE j.id.featureId = :featureId")
+    List<Long> findHouseIdsByFeatureId(@Param("featureId") Long featureId);
 }
@@ -0,0 +1,73 @@
+package com.iwacu250.landplots.repository;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Set-based writes to one house's rows in house_features. Feature edits on a house only read and
+ * write that house's links, instead of loading the join entities (and, through them, every other
+ * house sharing a feature) and diffing them one by one.
+ * <p>
+ * These statements bypass the persistence context: run them before the house's
+ * {@code houseFeatures} collection is initialized in the transaction, so it loads the new state.
+ */
+@Repository
+public class HouseFeatureLinkRepository {
+
+    private static final String SELECT_LINKS =
+            "SELECT f.id, f.name FROM house_features hf JOIN features f ON f.id = hf.feature_id " +
+            "WHERE hf.house_id = :houseId";
+
+    private static final String DELETE_ALL_LINKS = "DELETE FROM house_features WHERE house_id = :houseId";
+
+    private static final String DELETE_LINKS =
+            "DELETE FROM house_features WHERE house_id = :houseId AND feature_id IN (:featureIds)";
+
+    // The join row keeps a copy of the feature's name, description and icon
+    private static final String INSERT_LINKS =
+            "INSERT INTO house_features (house_id, feature_id, name, description, icon) " +
+            "SELECT :houseId, f.id, f.name, f.description, f.icon FROM features f WHERE f.id IN (:featureIds) " +
+            "ON CONFLICT DO NOTHING";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public HouseFeatureLinkRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The current name of each feature linked to the house, by feature id.
+     */
+    public Map<Long, String> findLinks(Long houseId) {
+        Map<Long, String> links = new HashMap<>();
+        jdbcTemplate.query(SELECT_LINKS, Map.of("houseId", houseId), rs -> {
+            links.put(rs.getLong("id"), rs.getString("name"));
+        });
+        return links;
+    }
+
+    public int delete(Long houseId, Collection<Long> featureIds) {
+        if (featureIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(DELETE_LINKS, Map.of("houseId", houseId, "featureIds", featureIds));
+    }
+
+    public int deleteAll(Long houseId) {
+        return jdbcTemplate.update(DELETE_ALL_LINKS, Map.of("houseId", houseId));
+    }
+
+    /**
+     * Links the features to the house in one statement; links that already exist are left as they are.
+     */
+    public int insert(Long houseId, Collection<Long> featureIds) {
+        if (featureIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(INSERT_LINKS, Map.of("houseId", houseId, "featureIds", featureIds));
+    }
+}
@@ -2,7 +2,10 @@ package com.iwacu250.landplots.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.iwacu250.landplots.entity.HouseFeature;
@@ -18,7 +21,10 @@ public interface HouseFeatureRepository extends JpaRepository<HouseFeature, Long
     // For paginated search
     Page<HouseFeature> findByNameContainingIgnoreCase(String name, Pageable pageable);
     
+    // Cached: every create and rename checks the name
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByName(String name);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<HouseFeature> findByName(String name);
 }
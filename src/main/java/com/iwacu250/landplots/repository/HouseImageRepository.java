@@ -4,9 +4,20 @@ import java.util.List;
 
 import com.iwacu250.landplots.entity.HouseImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface HouseImageRepository extends JpaRepository<HouseImage, Long> {
     List<HouseImage> findByHouseIdOrderByDisplayOrder(Long houseId);
+
+    // What FileStorageService.deleteFile takes for each of the house's images
+    @Query("SELECT COALESCE(i.cloudinaryPublicId, i.imageUrl) FROM HouseImage i WHERE i.house.id = :houseId")
+    List<String> findStoragePathsByHouseId(@Param("houseId") Long houseId);
+
+    @Modifying
+    @Query("DELETE FROM HouseImage i WHERE i.house.id = :houseId")
+    int deleteAllByHouseId(@Param("houseId") Long houseId);
 }
@@ -2,7 +2,10 @@ package com.iwacu250.landplots.repository;
 
 import com.iwacu250.landplots.entity.House;
 import com.iwacu250.landplots.entity.PropertyStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,17 +14,22 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import com.iwacu250.landplots.entity.PropertyType;
+import org.springframework.data.domain.Slice;
 
 @Repository
-public interface HouseRepository extends JpaRepository<House, Long> {
+public interface HouseRepository extends JpaRepository<House, Long>, JpaSpecificationExecutor<House> {
     
-    @Query("SELECT DISTINCT h FROM House h " +
-           "LEFT JOIN FETCH h.houseFeatures hf " +
-           "LEFT JOIN FETCH hf.feature f " +
-           "LEFT JOIN FETCH f.houseJoins " +
-           "WHERE h.id = :id")
-    Optional<House> findByIdWithFeatures(@Param("id") Long id);
+    @EntityGraph("House.detail")
+    Optional<House> findDetailedById(Long id);
+
+    // Keyset batches for loading every house: no OFFSET scan, and a Slice skips the count query
+    Slice<House> findByIdGreaterThan(Long afterId, Pageable pageable);
+
+    // One statement, without loading the house; its images and feature links have to be deleted first
+    @Modifying
+    @Query("DELETE FROM House h WHERE h.id = :id")
+    int deleteInBulk(@Param("id") Long id);
+
     List<House> findByStatus(String status);
     List<House> findByType(String type);
     List<House> findByLocationContainingIgnoreCase(String location);
@@ -31,20 +39,39 @@ public interface HouseRepository extends JpaRepository<House, Long> {
     // Dashboard statistics methods
     Long countByStatus(PropertyStatus status);
     
-    @Query("SELECT DISTINCT h FROM House h " +
-           "WHERE (:location IS NULL OR LOWER(h.location) LIKE LOWER(CONCAT('%', :location, '%'))) " +
-           "AND (:minPrice IS NULL OR h.price >= :minPrice) " +
-           "AND (:maxPrice IS NULL OR h.price <= :maxPrice) " +
-           "AND (:bedrooms IS NULL OR h.bedrooms = :bedrooms) " +
-           "AND (:type IS NULL OR h.type = :type) " +
-           "AND (:status IS NULL OR h.status = :status)")
-    Page<House> searchHouses(
-            @Param("location") String location,
+    // Ranked text search over title/location/description (search_vector) with trigram
+    // fallback for typos; the same match and rank as the listing filters (ListingSqlFilter).
+    // Results are ordered by rank, so the pageable must be unsorted. The page itself never
+    // counts; the count query below runs only when the caller needs a total.
+    String TEXT_SEARCH_FILTER =
+           "FROM houses h WHERE " +
+           ListingSqlFilter.TEXT_MATCH + " " +
+           "AND (CAST(:minPrice AS double precision) IS NULL OR h.price >= :minPrice) " +
+           "AND (CAST(:maxPrice AS double precision) IS NULL OR h.price <= :maxPrice) " +
+           "AND (CAST(:bedrooms AS integer) IS NULL OR h.bedrooms = :bedrooms) " +
+           "AND (CAST(:type AS text) IS NULL OR h.type = CAST(:type AS text)) " +
+           "AND (CAST(:status AS text) IS NULL OR h.status = CAST(:status AS text)) ";
+
+    @Query(value = "SELECT h.id " + TEXT_SEARCH_FILTER +
+           "ORDER BY " + ListingSqlFilter.TEXT_RANK + " DESC, h.id DESC",
+           nativeQuery = true)
+    Slice<Long> searchHousesByText(
+            @Param("query") String query,
             @Param("minPrice") Double minPrice,
             @Param("maxPrice") Double maxPrice,
             @Param("bedrooms") Integer bedrooms,
-            @Param("type") PropertyType type,
-            @Param("status") PropertyStatus status,
+            @Param("type") String type,
+            @Param("status") String status,
             Pageable pageable
     );
+
+    @Query(value = "SELECT COUNT(*) " + TEXT_SEARCH_FILTER, nativeQuery = true)
+    long countHousesByText(
+            @Param("query") String query,
+            @Param("minPrice") Double minPrice,
+            @Param("maxPrice") Double maxPrice,
+            @Param("bedrooms") Integer bedrooms,
+            @Param("type") String type,
+            @Param("status") String status
+    );
 }
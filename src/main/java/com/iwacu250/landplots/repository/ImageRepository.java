@@ -1,6 +1,9 @@
 package com.iwacu250.landplots.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.iwacu250.landplots.entity.Image;
@@ -11,4 +14,12 @@ import java.util.List;
 public interface ImageRepository extends JpaRepository<Image, Long> {
     List<Image> findByPlotIdOrderByDisplayOrderAsc(Long plotId);
     void deleteByPlotId(Long plotId);
+
+    // What FileStorageService.deleteFile takes for each of the plot's images
+    @Query("SELECT COALESCE(i.cloudinaryPublicId, i.imageUrl) FROM Image i WHERE i.plot.id = :plotId")
+    List<String> findStoragePathsByPlotId(@Param("plotId") Long plotId);
+
+    @Modifying
+    @Query("DELETE FROM Image i WHERE i.plot.id = :plotId")
+    int deleteAllByPlotId(@Param("plotId") Long plotId);
 }
@@ -0,0 +1,95 @@
+package com.iwacu250.landplots.repository;
+
+import com.iwacu250.landplots.search.ListingQuery;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds JPA criteria for plot and house searches.
+ * <p>
+ * Only the filters that are actually set become predicates, so each filter combination compiles
+ * to its own plain SQL shape (no "IS NULL OR" branches) that Postgres can plan against the
+ * indexes, and that Hibernate caches per shape (hibernate.criteria.plan_cache_enabled).
+ * Sorting is limited to columns with a (column, id) index and always ends with id, so page
+ * boundaries are stable.
+ */
+public final class ListingCriteria {
+
+    public static final String DEFAULT_SORT = "id";
+
+    // Entity properties that have a (column, id) index in db/keyset-indexes.sql
+    private static final Map<String, String> SORTABLE = Map.of(
+            "id", "id",
+            "price", "price",
+            "size", "size",
+            "createdAt", "createdAt"
+    );
+
+    private ListingCriteria() {
+    }
+
+    /**
+     * Predicates for the structured filters of the query. The free-text location is not handled
+     * here; text searches go through the ranked native queries instead.
+     */
+    public static <T> Specification<T> matching(ListingQuery query) {
+        return (root, criteriaQuery, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (query.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), query.getStatus()));
+            }
+            if (query.getPropertyType() != null) {
+                predicates.add(cb.equal(root.get("type"), query.getPropertyType()));
+            }
+            if (query.getBedrooms() != null) {
+                predicates.add(cb.equal(root.get("bedrooms"), query.getBedrooms()));
+            }
+            if (query.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), query.getMinPrice()));
+            }
+            if (query.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), query.getMaxPrice()));
+            }
+            if (query.getMinSize() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("size"), query.getMinSize()));
+            }
+            if (query.getMaxSize() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("size"), query.getMaxSize()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Maps a requested sort property onto the whitelist, falling back to id.
+     */
+    public static String sortProperty(String sortBy) {
+        return sortBy != null && SORTABLE.containsKey(sortBy) ? sortBy : DEFAULT_SORT;
+    }
+
+    public static Sort sort(String sortBy, boolean ascending) {
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        String property = SORTABLE.get(sortProperty(sortBy));
+        return DEFAULT_SORT.equals(property)
+                ? Sort.by(direction, DEFAULT_SORT)
+                : Sort.by(direction, property).and(Sort.by(direction, DEFAULT_SORT));
+    }
+
+    /**
+     * Keeps the first whitelisted order of a client-supplied sort (id ascending when there is
+     * none) and adds the id tie-breaker.
+     */
+    public static Sort sanitize(Sort requested) {
+        for (Sort.Order order : requested) {
+            if (SORTABLE.containsKey(order.getProperty())) {
+                return sort(order.getProperty(), order.isAscending());
+            }
+        }
+        return sort(DEFAULT_SORT, true);
+    }
+}
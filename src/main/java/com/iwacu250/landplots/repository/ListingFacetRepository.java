@@ -0,0 +1,124 @@
+package com.iwacu250.landplots.repository;
+
+import com.iwacu250.landplots.dto.FacetCountsDTO;
+import com.iwacu250.landplots.entity.PropertyStatus;
+import com.iwacu250.landplots.entity.PropertyType;
+import com.iwacu250.landplots.search.FacetBuckets;
+import com.iwacu250.landplots.search.ListingQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Database fallback for facet counts, used while the in-memory index is loading or when the
+ * query has a free-text location. All facets come back from one UNION ALL statement; each branch
+ * applies every active filter except the one for its own facet.
+ */
+@Repository
+public class ListingFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public FacetCountsDTO plotFacets(ListingQuery query) {
+        return facets("plots", query, false);
+    }
+
+    public FacetCountsDTO houseFacets(ListingQuery query) {
+        return facets("houses", query, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private FacetCountsDTO facets(String table, ListingQuery query, boolean includeTypeAndBedrooms) {
+        Map<String, Object> params = new HashMap<>();
+        List<String> branches = new ArrayList<>();
+
+        branches.add(branch("status", "l.status", table, query, ListingSqlFilter.Field.STATUS, params));
+        branches.add(branch("price", bucketExpression("l.price", FacetBuckets.PRICE_EDGES),
+                table, query, ListingSqlFilter.Field.PRICE, params));
+        branches.add(branch("size", bucketExpression("l.size", FacetBuckets.SIZE_EDGES),
+                table, query, ListingSqlFilter.Field.SIZE, params));
+        if (includeTypeAndBedrooms) {
+            branches.add(branch("type", "l.type", table, query, ListingSqlFilter.Field.TYPE, params));
+            branches.add(branch("bedrooms", "CAST(l.bedrooms AS text)", table, query, ListingSqlFilter.Field.BEDROOMS, params));
+        }
+
+        Query nativeQuery = entityManager.createNativeQuery(String.join(" UNION ALL ", branches));
+        params.forEach(nativeQuery::setParameter);
+        List<Object[]> rows = nativeQuery.getResultList();
+
+        FacetCountsDTO facets = new FacetCountsDTO();
+        Map<String, Long> status = new HashMap<>();
+        Map<String, Long> type = new HashMap<>();
+        Map<Integer, Long> bedrooms = new TreeMap<>();
+        long[] price = new long[FacetBuckets.PRICE_EDGES.length + 1];
+        long[] size = new long[FacetBuckets.SIZE_EDGES.length + 1];
+
+        for (Object[] row : rows) {
+            String facet = (String) row[0];
+            String value = (String) row[1];
+            long count = ((Number) row[2]).longValue();
+            if (value == null) {
+                continue;
+            }
+            switch (facet) {
+                case "status": status.put(value, count); break;
+                case "type": type.put(value, count); break;
+                case "bedrooms": bedrooms.put(Integer.valueOf(value), count); break;
+                case "price": price[Integer.parseInt(value)] = count; break;
+                case "size": size[Integer.parseInt(value)] = count; break;
+                default: break;
+            }
+        }
+
+        for (PropertyStatus value : PropertyStatus.values()) {
+            facets.getStatus().put(value.name(), status.getOrDefault(value.name(), 0L));
+        }
+        for (int i = 0; i < price.length; i++) {
+            facets.getPrice().put(FacetBuckets.label(FacetBuckets.PRICE_EDGES, i), price[i]);
+        }
+        for (int i = 0; i < size.length; i++) {
+            facets.getSize().put(FacetBuckets.label(FacetBuckets.SIZE_EDGES, i), size[i]);
+        }
+        if (includeTypeAndBedrooms) {
+            Map<String, Long> typeFacet = new LinkedHashMap<>();
+            for (PropertyType value : PropertyType.values()) {
+                typeFacet.put(value.name(), type.getOrDefault(value.name(), 0L));
+            }
+            facets.setType(typeFacet);
+            Map<String, Long> bedroomFacet = new LinkedHashMap<>();
+            bedrooms.forEach((count, total) -> bedroomFacet.put(String.valueOf(count), total));
+            facets.setBedrooms(bedroomFacet);
+        }
+        return facets;
+    }
+
+    private String branch(String facet, String valueExpression, String table, ListingQuery query,
+                          ListingSqlFilter.Field ownField, Map<String, Object> params) {
+        return "(SELECT '" + facet + "', " + valueExpression + ", COUNT(*) FROM " + table + " l"
+                + ListingSqlFilter.where(query, "l", params, EnumSet.of(ownField))
+                + " GROUP BY 2)";
+    }
+
+    // width_bucket over a sorted array returns the number of edges <= value, same as FacetBuckets.bucketOf
+    private String bucketExpression(String column, double[] edges) {
+        StringBuilder array = new StringBuilder("ARRAY[");
+        for (int i = 0; i < edges.length; i++) {
+            if (i > 0) {
+                array.append(", ");
+            }
+            array.append((long) edges[i]);
+        }
+        array.append("]");
+        return "CAST(width_bucket(CAST(" + column + " AS numeric), CAST(" + array + " AS numeric[])) AS text)";
+    }
+}
@@ -0,0 +1,116 @@
+package com.iwacu250.landplots.repository;
+
+import com.iwacu250.landplots.entity.House;
+import com.iwacu250.landplots.entity.Plot;
+import com.iwacu250.landplots.exception.InvalidCursorException;
+import com.iwacu250.landplots.search.KeysetCursor;
+import com.iwacu250.landplots.search.ListingQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyset (seek) pagination over plots and houses.
+ * <p>
+ * Instead of OFFSET + COUNT, each page continues after the last row of the previous one with a
+ * row-value comparison, {@code WHERE (sort_col, id) < (:value, :id)}, which Postgres answers
+ * from the (sort_col, id) indexes in db/keyset-indexes.sql in constant time per page.
+ */
+@Repository
+public class ListingKeysetRepository {
+
+    // Entity property -> column; only columns backed by a (column, id) index are allowed
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "price", "price",
+            "size", "size",
+            "createdAt", "created_at"
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public static boolean supportsSort(String sortBy) {
+        return sortBy != null && SORT_COLUMNS.containsKey(sortBy);
+    }
+
+    public List<Plot> findPlots(ListingQuery query, KeysetCursor after, int limit) {
+        return find("plots", Plot.class, query, after, limit);
+    }
+
+    public List<House> findHouses(ListingQuery query, KeysetCursor after, int limit) {
+        return find("houses", House.class, query, after, limit);
+    }
+
+    public static Object sortValue(Plot plot, String sortBy) {
+        switch (sortBy) {
+            case "price": return plot.getPrice();
+            case "size": return plot.getSize();
+            case "createdAt": return plot.getCreatedAt();
+            default: return plot.getId();
+        }
+    }
+
+    public static Object sortValue(House house, String sortBy) {
+        switch (sortBy) {
+            case "price": return house.getPrice();
+            case "size": return house.getSize();
+            case "createdAt": return house.getCreatedAt();
+            default: return house.getId();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> find(String table, Class<T> entityType, ListingQuery query, KeysetCursor after, int limit) {
+        String column = SORT_COLUMNS.get(query.getSortBy());
+        String direction = query.isAscending() ? "ASC" : "DESC";
+        Map<String, Object> params = new HashMap<>();
+
+        StringBuilder sql = new StringBuilder("SELECT l.* FROM ").append(table).append(" l")
+                .append(ListingSqlFilter.where(query, "l", params));
+
+        if (after != null) {
+            String operator = query.isAscending() ? ">" : "<";
+            if ("id".equals(column)) {
+                sql.append(" AND l.id ").append(operator).append(" :afterId");
+            } else {
+                sql.append(" AND (l.").append(column).append(", l.id) ").append(operator).append(" (:afterValue, :afterId)");
+                params.put("afterValue", parseValue(query.getSortBy(), after));
+            }
+            params.put("afterId", after.getId());
+        }
+
+        sql.append(" ORDER BY l.").append(column).append(" ").append(direction);
+        if (!"id".equals(column)) {
+            sql.append(", l.id ").append(direction);
+        }
+
+        Query nativeQuery = entityManager.createNativeQuery(sql.toString(), entityType);
+        params.forEach(nativeQuery::setParameter);
+        nativeQuery.setMaxResults(limit);
+        return nativeQuery.getResultList();
+    }
+
+    private Object parseValue(String sortBy, KeysetCursor cursor) {
+        try {
+            switch (sortBy) {
+                case "price":
+                case "size":
+                    return Double.valueOf(cursor.getValue());
+                case "createdAt":
+                    return LocalDateTime.parse(cursor.getValue());
+                default:
+                    return cursor.getId();
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new InvalidCursorException(cursor.encode());
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.iwacu250.landplots.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.iwacu250.landplots.dto.HouseDTO;
+import com.iwacu250.landplots.dto.HouseFeatureDTO;
+import com.iwacu250.landplots.dto.ImageDTO;
+import com.iwacu250.landplots.dto.PlotDTO;
+import com.iwacu250.landplots.entity.PropertyStatus;
+import com.iwacu250.landplots.entity.PropertyType;
+import com.iwacu250.landplots.search.FieldSelection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Read-only path for list pages: rows go straight from JDBC into the list DTOs, with images and
+ * features aggregated per listing in SQL. Nothing enters the persistence context, so there are
+ * no entity snapshots, lazy collections or dirty checks, and a page is one statement. The select
+ * list follows the requested {@link FieldSelection}: a card page never reads descriptions or
+ * runs the image and feature aggregates.
+ */
+@Repository
+public class ListingProjectionRepository {
+
+    private static final TypeReference<List<ImageDTO>> IMAGE_LIST = new TypeReference<>() { };
+    private static final TypeReference<Set<HouseFeatureDTO>> FEATURE_SET = new TypeReference<>() { };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    // Readers are bound to their type once instead of resolving the deserializer per row
+    private final ObjectReader imageListReader;
+    private final ObjectReader featureSetReader;
+    // Selectable field -> the column that fills it; the image and feature aggregates are columns too
+    private final Map<String, Column<PlotDTO>> plotColumns;
+    private final Map<String, Column<HouseDTO>> houseColumns;
+
+    public ListingProjectionRepository(NamedParameterJdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.imageListReader = objectMapper.readerFor(IMAGE_LIST);
+        this.featureSetReader = objectMapper.readerFor(FEATURE_SET);
+        this.plotColumns = plotColumns();
+        this.houseColumns = houseColumns();
+    }
+
+    /**
+     * The plots of an id page, in the page's order; ids deleted in the meantime are skipped.
+     * Only the selected fields are read, the others are left unset.
+     */
+    public Slice<PlotDTO> plotPage(Slice<Long> ids, FieldSelection selection) {
+        return project(ids, "plots p", "p", plotColumns, selection, PlotDTO::new);
+    }
+
+    public Slice<HouseDTO> housePage(Slice<Long> ids, FieldSelection selection) {
+        return project(ids, "houses h", "h", houseColumns, selection, HouseDTO::new);
+    }
+
+    private <T> Slice<T> project(Slice<Long> ids, String table, String alias, Map<String, Column<T>> columns,
+                                 FieldSelection selection, Supplier<T> factory) {
+        Map<Long, T> byId = new HashMap<>();
+        if (ids.hasContent()) {
+            List<Column<T>> selected = columns.entrySet().stream()
+                    .filter(column -> selection.includes(column.getKey()))
+                    .map(Map.Entry::getValue)
+                    .collect(Collectors.toList());
+            // Every selection includes the id, which places the rows back in page order
+            String sql = selected.stream().map(column -> column.sql).collect(Collectors.joining(", ", "SELECT ", ""))
+                    + " FROM " + table + " WHERE " + alias + ".id IN (:ids)";
+
+            jdbcTemplate.query(sql, Map.of("ids", ids.getContent()), (RowCallbackHandler) rs -> {
+                T dto = factory.get();
+                for (Column<T> column : selected) {
+                    column.reader.read(rs, dto);
+                }
+                byId.put(rs.getLong("id"), dto);
+            });
+        }
+        List<T> content = ids.getContent().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (ids instanceof Page<Long> page) {
+            return new PageImpl<>(content, page.getPageable(), page.getTotalElements());
+        }
+        return new SliceImpl<>(content, ids.getPageable(), ids.hasNext());
+    }
+
+    @FunctionalInterface
+    private interface ColumnReader<T> {
+        void read(ResultSet rs, T dto) throws SQLException;
+    }
+
+    private static final class Column<T> {
+        private final String sql;
+        private final ColumnReader<T> reader;
+
+        private Column(String sql, ColumnReader<T> reader) {
+            this.sql = sql;
+            this.reader = reader;
+        }
+    }
+
+    private Map<String, Column<PlotDTO>> plotColumns() {
+        Map<String, Column<PlotDTO>> columns = new LinkedHashMap<>();
+        columns.put("id", new Column<>("p.id", (rs, dto) -> dto.setId(rs.getLong("id"))));
+        columns.put("title", new Column<>("p.title", (rs, dto) -> dto.setTitle(rs.getString("title"))));
+        columns.put("location", new Column<>("p.location", (rs, dto) -> dto.setLocation(rs.getString("location"))));
+        columns.put("latitude", new Column<>("p.latitude",
+                (rs, dto) -> dto.setLatitude(rs.getObject("latitude", Double.class))));
+        columns.put("longitude", new Column<>("p.longitude",
+                (rs, dto) -> dto.setLongitude(rs.getObject("longitude", Double.class))));
+        columns.put("size", new Column<>("p.size", (rs, dto) -> dto.setSize(rs.getObject("size", Double.class))));
+        columns.put("sizeUnit", new Column<>("p.size_unit", (rs, dto) -> dto.setSizeUnit(rs.getString("size_unit"))));
+        columns.put("price", new Column<>("p.price", (rs, dto) -> dto.setPrice(rs.getObject("price", Double.class))));
+        columns.put("currency", new Column<>("p.currency", (rs, dto) -> dto.setCurrency(rs.getString("currency"))));
+        columns.put("description", new Column<>("p.description",
+                (rs, dto) -> dto.setDescription(rs.getString("description"))));
+        columns.put("status", new Column<>("p.status", (rs, dto) -> dto.setStatus(status(rs))));
+        columns.put("featuredImageUrl", new Column<>("p.featured_image_url",
+                (rs, dto) -> dto.setFeaturedImageUrl(rs.getString("featured_image_url"))));
+        columns.put("videoUrl", new Column<>("p.video_url", (rs, dto) -> dto.setVideoUrl(rs.getString("video_url"))));
+        columns.put("images", new Column<>(
+                "(SELECT json_agg(json_build_object('id', i.id, 'imageUrl', i.image_url, " +
+                "        'displayOrder', i.display_order, 'isFeatured', i.is_featured, " +
+                "        'uploadedAt', i.uploaded_at) ORDER BY i.id) " +
+                "   FROM images i WHERE i.plot_id = p.id) AS images",
+                (rs, dto) -> {
+                    String images = rs.getString("images");
+                    if (images != null) {
+                        dto.setImages(readJson(images, imageListReader));
+                    }
+                }));
+        columns.put("features", new Column<>(
+                "(SELECT array_agg(f.name) FROM plot_features pf JOIN features f ON f.id = pf.feature_id " +
+                "  WHERE pf.plot_id = p.id) AS features",
+                (rs, dto) -> dto.setFeatures(stringSet(rs.getArray("features")))));
+        columns.put("createdAt", new Column<>("p.created_at",
+                (rs, dto) -> dto.setCreatedAt(rs.getObject("created_at", LocalDateTime.class))));
+        columns.put("updatedAt", new Column<>("p.updated_at",
+                (rs, dto) -> dto.setUpdatedAt(rs.getObject("updated_at", LocalDateTime.class))));
+        return columns;
+    }
+
+    private Map<String, Column<HouseDTO>> houseColumns() {
+        Map<String, Column<HouseDTO>> columns = new LinkedHashMap<>();
+        columns.put("id", new Column<>("h.id", (rs, dto) -> dto.setId(rs.getLong("id"))));
+        columns.put("title", new Column<>("h.title", (rs, dto) -> dto.setTitle(rs.getString("title"))));
+        columns.put("location", new Column<>("h.location", (rs, dto) -> dto.setLocation(rs.getString("location"))));
+        columns.put("latitude", new Column<>("h.latitude",
+                (rs, dto) -> dto.setLatitude(rs.getObject("latitude", Double.class))));
+        columns.put("longitude", new Column<>("h.longitude",
+                (rs, dto) -> dto.setLongitude(rs.getObject("longitude", Double.class))));
+        columns.put("size", new Column<>("h.size", (rs, dto) -> dto.setSize(rs.getObject("size", Double.class))));
+        columns.put("sizeUnit", new Column<>("h.size_unit", (rs, dto) -> dto.setSizeUnit(rs.getString("size_unit"))));
+        columns.put("price", new Column<>("h.price", (rs, dto) -> dto.setPrice(rs.getObject("price", Double.class))));
+        columns.put("currency", new Column<>("h.currency", (rs, dto) -> dto.setCurrency(rs.getString("currency"))));
+        columns.put("description", new Column<>("h.description",
+                (rs, dto) -> dto.setDescription(rs.getString("description"))));
+        columns.put("type", new Column<>("h.type", (rs, dto) -> {
+            String type = rs.getString("type");
+            dto.setType(type != null ? PropertyType.valueOf(type) : null);
+        }));
+        columns.put("bedrooms", new Column<>("h.bedrooms",
+                (rs, dto) -> dto.setBedrooms(rs.getObject("bedrooms", Integer.class))));
+        columns.put("bathrooms", new Column<>("h.bathrooms", (rs, dto) -> {
+            Integer bathrooms = rs.getObject("bathrooms", Integer.class);
+            dto.setBathrooms(bathrooms != null ? bathrooms.doubleValue() : null);
+        }));
+        columns.put("yearBuilt", new Column<>("h.year_built",
+                (rs, dto) -> dto.setYearBuilt(rs.getObject("year_built", Integer.class))));
+        columns.put("floors", new Column<>("h.floors", (rs, dto) -> dto.setFloors(rs.getObject("floors", Integer.class))));
+        columns.put("status", new Column<>("h.status", (rs, dto) -> dto.setStatus(status(rs))));
+        columns.put("featuredImageUrl", new Column<>("h.featured_image_url",
+                (rs, dto) -> dto.setFeaturedImageUrl(rs.getString("featured_image_url"))));
+        columns.put("videoUrl", new Column<>("h.video_url", (rs, dto) -> dto.setVideoUrl(rs.getString("video_url"))));
+        columns.put("imageUrls", new Column<>(
+                "(SELECT array_agg(hi.image_url) FROM house_images hi WHERE hi.house_id = h.id) AS image_urls",
+                (rs, dto) -> dto.setImageUrls(stringSet(rs.getArray("image_urls")))));
+        columns.put("features", new Column<>(
+                "(SELECT json_agg(json_build_object('id', f.id, 'name', f.name, " +
+                "        'description', f.description, 'icon', f.icon)) " +
+                "   FROM house_features hf JOIN features f ON f.id = hf.feature_id " +
+                "  WHERE hf.house_id = h.id) AS features",
+                (rs, dto) -> {
+                    String features = rs.getString("features");
+                    if (features != null) {
+                        dto.setFeatures(readJson(features, featureSetReader));
+                    }
+                }));
+        columns.put("createdAt", new Column<>("h.created_at",
+                (rs, dto) -> dto.setCreatedAt(rs.getObject("created_at", LocalDateTime.class))));
+        columns.put("updatedAt", new Column<>("h.updated_at",
+                (rs, dto) -> dto.setUpdatedAt(rs.getObject("updated_at", LocalDateTime.class))));
+        return columns;
+    }
+
+    private static PropertyStatus status(ResultSet rs) throws SQLException {
+        String status = rs.getString("status");
+        return status != null ? PropertyStatus.valueOf(status) : null;
+    }
+
+    private static Set<String> stringSet(Array array) throws SQLException {
+        if (array == null) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(Arrays.asList((String[]) array.getArray()));
+    }
+
+    private <T> T readJson(String json, ObjectReader reader) {
+        try {
+            return reader.readValue(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable aggregate in listing projection: " + e.getMessage(), e);
+        }
+    }
+}
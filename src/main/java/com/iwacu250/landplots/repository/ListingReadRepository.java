@@ -0,0 +1,117 @@
+package com.iwacu250.landplots.repository;
+
+import com.iwacu250.landplots.entity.ListingSearchEntry;
+import com.iwacu250.landplots.search.GeoUtils;
+import com.iwacu250.landplots.search.ListingQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Searches plots and houses together through the listing_search read model, so a mixed result
+ * page is one indexed query with the sort and pagination done by Postgres.
+ */
+@Repository
+public class ListingReadRepository {
+
+    public static final String SORT_RELEVANCE = "relevance";
+    public static final String SORT_DISTANCE = "distance";
+
+    // Entity property -> column; each has a (column, id) index in db/listing-search.sql
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "price", "price",
+            "size", "size",
+            "createdAt", "created_at"
+    );
+
+    // How many index candidates findNearest re-ranks per listing returned
+    private static final int NEAREST_CANDIDATE_FACTOR = 2;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public static boolean supportsSort(String sortBy) {
+        return SORT_RELEVANCE.equals(sortBy) || SORT_DISTANCE.equals(sortBy) || SORT_COLUMNS.containsKey(sortBy);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Page<ListingSearchEntry> search(ListingQuery query) {
+        Map<String, Object> params = new HashMap<>();
+        String where = ListingSqlFilter.where(query, "l", params);
+
+        Map<String, Object> selectParams = new HashMap<>(params);
+        String orderBy = orderBy(query, selectParams);
+
+        Query select = entityManager.createNativeQuery(
+                "SELECT l.* FROM listing_search l" + where + orderBy, ListingSearchEntry.class);
+        selectParams.forEach(select::setParameter);
+        PageRequest pageRequest = PageRequest.of(query.getPage(), query.getSize());
+        select.setFirstResult((int) pageRequest.getOffset());
+        select.setMaxResults(query.getSize());
+        List<ListingSearchEntry> content = select.getResultList();
+
+        Query count = entityManager.createNativeQuery("SELECT COUNT(*) FROM listing_search l" + where);
+        params.forEach(count::setParameter);
+        long total = ((Number) count.getSingleResult()).longValue();
+
+        return new PageImpl<>(content, pageRequest, total);
+    }
+
+    /**
+     * The {@code limit} listings closest to the query's centre point, nearest first. Candidates come
+     * from a k-nearest-neighbour scan of the GiST index, so it never sorts the whole table. The
+     * index ranks by planar distance in degrees, which overstates east-west distances away from the
+     * equator; it is asked for extra candidates, which are re-ranked by great-circle distance.
+     */
+    @SuppressWarnings("unchecked")
+    public List<ListingSearchEntry> findNearest(ListingQuery query, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        String where = ListingSqlFilter.where(query, "l", params);
+        String orderBy = " ORDER BY point(l.longitude, l.latitude) <-> point(:nearLng, :nearLat), l.id";
+        params.put("nearLat", query.getNearLat());
+        params.put("nearLng", query.getNearLng());
+
+        Query select = entityManager.createNativeQuery(
+                "SELECT l.* FROM listing_search l" + where + orderBy, ListingSearchEntry.class);
+        params.forEach(select::setParameter);
+        select.setMaxResults(limit * NEAREST_CANDIDATE_FACTOR);
+        List<ListingSearchEntry> candidates = select.getResultList();
+
+        double lat = query.getNearLat();
+        double lng = query.getNearLng();
+        return candidates.stream()
+                .sorted(Comparator.comparingDouble((ListingSearchEntry entry) ->
+                                GeoUtils.distanceKm(lat, lng, entry.getLatitude(), entry.getLongitude()))
+                        .thenComparing(ListingSearchEntry::getId))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private String orderBy(ListingQuery query, Map<String, Object> params) {
+        if (SORT_RELEVANCE.equals(query.getSortBy()) && query.getLocation() != null) {
+            return " ORDER BY " + ListingSqlFilter.TEXT_RANK + " DESC, l.id DESC";
+        }
+        // Planar distance in degrees, so the index can serve it page by page: the order is
+        // approximate, east-west distances count for more than they should away from the equator
+        // (by about 0.1% at Rwanda's latitudes). findNearest re-ranks by great-circle distance.
+        if (SORT_DISTANCE.equals(query.getSortBy()) && GeoUtils.hasPoint(query)) {
+            params.put("nearLat", query.getNearLat());
+            params.put("nearLng", query.getNearLng());
+            return " ORDER BY point(l.longitude, l.latitude) <-> point(:nearLng, :nearLat), l.id";
+        }
+        // The trailing id keeps the order total, so pages never repeat or skip rows
+        String direction = query.isAscending() ? "ASC" : "DESC";
+        String column = SORT_COLUMNS.getOrDefault(query.getSortBy(), "created_at");
+        return " ORDER BY l." + column + " " + direction + ", l.id " + direction;
+    }
+}
@@ -0,0 +1,21 @@
+package com.iwacu250.landplots.repository;
+
+import com.iwacu250.landplots.entity.ListingSearchEntry;
+import com.iwacu250.landplots.search.ListingType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ListingSearchRepository extends JpaRepository<ListingSearchEntry, Long> {
+
+    Optional<ListingSearchEntry> findByListingTypeAndListingId(ListingType listingType, Long listingId);
+
+    @Modifying
+    @Query("DELETE FROM ListingSearchEntry e WHERE e.listingType = :listingType AND e.listingId = :listingId")
+    int deleteByListing(@Param("listingType") ListingType listingType, @Param("listingId") Long listingId);
+}
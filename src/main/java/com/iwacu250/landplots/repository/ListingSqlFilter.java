@@ -0,0 +1,124 @@
+package com.iwacu250.landplots.repository;
+
+import com.iwacu250.landplots.search.GeoUtils;
+import com.iwacu250.landplots.search.ListingQuery;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Renders the active filters of a {@link ListingQuery} as native SQL predicates over the
+ * plots, houses and listing_search tables, emitting only the predicates that are actually set.
+ */
+final class ListingSqlFilter {
+
+    enum Field { LISTING_TYPE, LOCATION, STATUS, TYPE, PRICE, SIZE, BEDROOMS, GEO }
+
+    /**
+     * The free-text match shared by the listing filters, facets and estimates and the plot and
+     * house text searches: full text over title, location and description, with trigram fallbacks
+     * on location and title for typos. Columns are unqualified (every caller reads a single table),
+     * and the text is bound as {@code :query}.
+     */
+    static final String TEXT_MATCH =
+            "(search_vector @@ websearch_to_tsquery('simple', :query) OR location % :query OR title % :query)";
+
+    // Relevance of a TEXT_MATCH row, best first when sorted descending
+    static final String TEXT_RANK =
+            "ts_rank_cd(search_vector, websearch_to_tsquery('simple', :query))"
+            + " + GREATEST(similarity(location, :query), similarity(title, :query))";
+
+    private ListingSqlFilter() {
+    }
+
+    static String where(ListingQuery query, String alias, Map<String, Object> params) {
+        return where(query, alias, params, EnumSet.noneOf(Field.class));
+    }
+
+    /**
+     * Builds a WHERE clause (always starting with "WHERE 1 = 1") skipping the excluded fields,
+     * and records the bound values in {@code params}.
+     */
+    static String where(ListingQuery query, String alias, Map<String, Object> params, Set<Field> excluded) {
+        StringBuilder sql = new StringBuilder(" WHERE 1 = 1");
+        String a = alias + ".";
+        if (query.getListingType() != null && !excluded.contains(Field.LISTING_TYPE)) {
+            sql.append(" AND ").append(a).append("listing_type = :listingType");
+            params.put("listingType", query.getListingType().name());
+        }
+        if (query.getLocation() != null && !excluded.contains(Field.LOCATION)) {
+            sql.append(" AND ").append(TEXT_MATCH);
+            params.put("query", query.getLocation());
+        }
+        if (query.getStatus() != null && !excluded.contains(Field.STATUS)) {
+            sql.append(" AND ").append(a).append("status = :status");
+            params.put("status", query.getStatus().name());
+        }
+        if (query.getPropertyType() != null && !excluded.contains(Field.TYPE)) {
+            sql.append(" AND ").append(a).append("type = :type");
+            params.put("type", query.getPropertyType().name());
+        }
+        if (!excluded.contains(Field.PRICE)) {
+            if (query.getMinPrice() != null) {
+                sql.append(" AND ").append(a).append("price >= :minPrice");
+                params.put("minPrice", query.getMinPrice());
+            }
+            if (query.getMaxPrice() != null) {
+                sql.append(" AND ").append(a).append("price <= :maxPrice");
+                params.put("maxPrice", query.getMaxPrice());
+            }
+        }
+        if (!excluded.contains(Field.SIZE)) {
+            if (query.getMinSize() != null) {
+                sql.append(" AND ").append(a).append("size >= :minSize");
+                params.put("minSize", query.getMinSize());
+            }
+            if (query.getMaxSize() != null) {
+                sql.append(" AND ").append(a).append("size <= :maxSize");
+                params.put("maxSize", query.getMaxSize());
+            }
+        }
+        if (query.getBedrooms() != null && !excluded.contains(Field.BEDROOMS)) {
+            sql.append(" AND ").append(a).append("bedrooms = :bedrooms");
+            params.put("bedrooms", query.getBedrooms());
+        }
+        if (!excluded.contains(Field.GEO)) {
+            appendGeo(sql, query, alias, params);
+        }
+        return sql.toString();
+    }
+
+    // Box tests go through the GiST index on point(longitude, latitude); the radius check is exact
+    private static void appendGeo(StringBuilder sql, ListingQuery query, String alias, Map<String, Object> params) {
+        String a = alias + ".";
+        boolean box = GeoUtils.hasBoundingBox(query);
+        boolean radius = GeoUtils.hasPoint(query) && query.getRadiusKm() != null;
+        if (!box && !GeoUtils.hasPoint(query)) {
+            return;
+        }
+        sql.append(" AND ").append(a).append("latitude IS NOT NULL AND ").append(a).append("longitude IS NOT NULL");
+        if (box) {
+            sql.append(" AND point(").append(a).append("longitude, ").append(a).append("latitude)")
+                    .append(" <@ box(point(:minLng, :minLat), point(:maxLng, :maxLat))");
+            params.put("minLat", query.getMinLat());
+            params.put("maxLat", query.getMaxLat());
+            params.put("minLng", query.getMinLng());
+            params.put("maxLng", query.getMaxLng());
+        }
+        if (radius) {
+            double[] bounds = GeoUtils.boundingBox(query.getNearLat(), query.getNearLng(), query.getRadiusKm());
+            sql.append(" AND point(").append(a).append("longitude, ").append(a).append("latitude)")
+                    .append(" <@ box(point(:radiusMinLng, :radiusMinLat), point(:radiusMaxLng, :radiusMaxLat))")
+                    .append(" AND ").append(GeoUtils.distanceSql(alias))
+                    .append(" <= :radiusKm");
+            params.put("radiusMinLat", bounds[0]);
+            params.put("radiusMinLng", bounds[1]);
+            params.put("radiusMaxLat", bounds[2]);
+            params.put("radiusMaxLng", bounds[3]);
+            params.put("nearLat", query.getNearLat());
+            params.put("nearLng", query.getNearLng());
+            params.put("radiusKm", query.getRadiusKm());
+        }
+    }
+}
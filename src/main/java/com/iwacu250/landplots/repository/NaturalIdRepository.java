@@ -0,0 +1,25 @@
+package com.iwacu250.landplots.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Lookups of the cached reference entities by their natural id (feature name, role name,
+ * setting key). Hibernate resolves the id from the natural-id cache and the entity from the
+ * second-level cache, so a warm lookup runs no SQL. Unlike a cached query, the resolution is
+ * not dropped whenever any row of the table is written.
+ */
+@Repository
+public class NaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <T> Optional<T> find(Class<T> type, Object naturalId) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(type).loadOptional(naturalId);
+    }
+}
@@ -0,0 +1,164 @@
+package com.iwacu250.landplots.repository;
+
+import com.iwacu250.landplots.entity.Feature;
+import com.iwacu250.landplots.entity.Plot;
+import com.iwacu250.landplots.search.ListingDocument;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batched plot inserts for the bulk import. Ids are taken from the plots sequence up front, so
+ * the plot, join-table and listing_search rows go out as JDBC batches without a round trip per
+ * row. With {@code reWriteBatchedInserts} the driver sends each batch as multi-row INSERTs.
+ */
+@Repository
+public class PlotImportRepository {
+
+    private static final String INSERT_PLOT =
+            "INSERT INTO plots (id, title, location, latitude, longitude, size, size_unit, price, currency, " +
+            "description, status, featured_image_url, video_url, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_PLOT_FEATURE =
+            "INSERT INTO plot_features (plot_id, feature_id) VALUES (?, ?)";
+
+    private static final String UPSERT_SEARCH_ENTRY =
+            "INSERT INTO listing_search (id, listing_type, listing_id, title, location, latitude, longitude, price, " +
+            "currency, size, size_unit, bedrooms, status, type, featured_image_url, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (listing_type, listing_id) DO UPDATE SET title = EXCLUDED.title, " +
+            "location = EXCLUDED.location, latitude = EXCLUDED.latitude, longitude = EXCLUDED.longitude, " +
+            "price = EXCLUDED.price, currency = EXCLUDED.currency, size = EXCLUDED.size, " +
+            "size_unit = EXCLUDED.size_unit, bedrooms = EXCLUDED.bedrooms, status = EXCLUDED.status, " +
+            "type = EXCLUDED.type, featured_image_url = EXCLUDED.featured_image_url, " +
+            "created_at = EXCLUDED.created_at, updated_at = EXCLUDED.updated_at";
+
+    // The allocationSize of the Plot and ListingSearchEntry id generators
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PlotImportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reserves {@code count} plot ids. Like Hibernate's pooled optimizer, each value v drawn from
+     * plots_seq stands for the block v-49..v, so one value covers 50 ids. Ids of a rolled-back
+     * import are not reused.
+     */
+    public List<Long> allocateIds(int count) {
+        return allocate("plots_seq", count);
+    }
+
+    private List<Long> allocate(String sequence, int count) {
+        int blocks = (count + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE;
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            List<Long> highs = jdbcTemplate.queryForList(
+                    "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)", Long.class, blocks);
+            for (Long high : highs) {
+                // A fresh sequence starts at 1; ids below 1 are never handed out
+                for (long id = Math.max(1, high - ID_BLOCK_SIZE + 1); id <= high && ids.size() < count; id++) {
+                    ids.add(id);
+                }
+            }
+            blocks = 1;
+        }
+        return ids;
+    }
+
+    /**
+     * Inserts the plots, which must have their ids set, and their feature links.
+     */
+    public void insert(List<Plot> plots) {
+        jdbcTemplate.batchUpdate(INSERT_PLOT, plots, plots.size(), (ps, plot) -> {
+            ps.setLong(1, plot.getId());
+            ps.setString(2, plot.getTitle());
+            ps.setString(3, plot.getLocation());
+            setDouble(ps, 4, plot.getLatitude());
+            setDouble(ps, 5, plot.getLongitude());
+            ps.setDouble(6, plot.getSize());
+            ps.setString(7, plot.getSizeUnit());
+            ps.setDouble(8, plot.getPrice());
+            ps.setString(9, plot.getCurrency());
+            ps.setString(10, plot.getDescription());
+            ps.setString(11, plot.getStatus() != null ? plot.getStatus().name() : null);
+            ps.setString(12, plot.getFeaturedImageUrl());
+            ps.setString(13, plot.getVideoUrl());
+            ps.setObject(14, plot.getCreatedAt());
+            ps.setObject(15, plot.getUpdatedAt());
+        });
+
+        List<long[]> links = new ArrayList<>();
+        for (Plot plot : plots) {
+            for (Feature feature : plot.getFeatures()) {
+                links.add(new long[] {plot.getId(), feature.getId()});
+            }
+        }
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PLOT_FEATURE, links, links.size(), (ps, link) -> {
+                ps.setLong(1, link[0]);
+                ps.setLong(2, link[1]);
+            });
+        }
+    }
+
+    /**
+     * Writes the listing_search rows of the imported plots in one batch, instead of the
+     * per-listing find and save of ListingSearchProjector.
+     */
+    public void upsertSearchEntries(List<ListingDocument> documents) {
+        List<Long> ids = allocate("listing_search_seq", documents.size());
+        jdbcTemplate.batchUpdate(UPSERT_SEARCH_ENTRY, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                setSearchEntry(ps, ids.get(i), documents.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return documents.size();
+            }
+        });
+    }
+
+    private static void setSearchEntry(PreparedStatement ps, Long id, ListingDocument document) throws SQLException {
+        ps.setLong(1, id);
+        ps.setString(2, document.getListingType().name());
+        ps.setLong(3, document.getId());
+        ps.setString(4, document.getTitle());
+        ps.setString(5, document.getLocation());
+        setDouble(ps, 6, document.getLatitude());
+        setDouble(ps, 7, document.getLongitude());
+        setDouble(ps, 8, document.getPrice());
+        ps.setString(9, document.getCurrency());
+        setDouble(ps, 10, document.getSize());
+        ps.setString(11, document.getSizeUnit());
+        if (document.getBedrooms() == null) {
+            ps.setNull(12, Types.INTEGER);
+        } else {
+            ps.setInt(12, document.getBedrooms());
+        }
+        ps.setString(13, document.getStatus() != null ? document.getStatus().name() : null);
+        ps.setString(14, document.getPropertyType() != null ? document.getPropertyType().name() : null);
+        ps.setString(15, document.getFeaturedImageUrl());
+        ps.setObject(16, document.getCreatedAt());
+        ps.setObject(17, document.getUpdatedAt());
+    }
+
+    private static void setDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.DOUBLE);
+        } else {
+            ps.setDouble(index, value);
+        }
+    }
+}
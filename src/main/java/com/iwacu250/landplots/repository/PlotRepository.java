@@ -3,8 +3,11 @@ package com.iwacu250.landplots.repository;
 import com.iwacu250.landplots.entity.PropertyStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,10 +15,26 @@ import org.springframework.stereotype.Repository;
 import com.iwacu250.landplots.entity.Plot;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PlotRepository extends JpaRepository<Plot, Long>, JpaSpecificationExecutor<Plot> {
     
+    @EntityGraph("Plot.detail")
+    Optional<Plot> findDetailedById(Long id);
+
+    // Keyset batches for loading every plot: no OFFSET scan, and a Slice skips the count query
+    Slice<Plot> findByIdGreaterThan(Long afterId, Pageable pageable);
+
+    @Query("SELECT p.id FROM Plot p JOIN p.features f WHERE f.id = :featureId")
+    List<Long> findIdsByFeatureId(@Param("featureId") Long featureId);
+
+    // One statement, without loading the plot; Hibernate also clears its plot_features rows.
+    // The plot's images have to be deleted first.
+    @Modifying
+    @Query("DELETE FROM Plot p WHERE p.id = :id")
+    int deleteInBulk(@Param("id") Long id);
+
     @Query("SELECT p FROM Plot p WHERE p.status = :status")
     Page<Plot> findByStatus(@Param("status") PropertyStatus status, Pageable pageable);
     
@@ -25,20 +44,39 @@ public interface PlotRepository extends JpaRepository<Plot, Long>, JpaSpecificat
     @Query("SELECT p FROM Plot p WHERE p.status = 'AVAILABLE' ORDER BY p.createdAt DESC")
     List<Plot> findFeaturedPlots(Pageable pageable);
     
-    @Query("SELECT p FROM Plot p WHERE " +
-           "(:status IS NULL OR p.status = :status) AND " +
-           "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
-           "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
-           "(:minSize IS NULL OR p.size >= :minSize) AND " +
-           "(:maxSize IS NULL OR p.size <= :maxSize)")
-    Page<Plot> searchPlots(
-        @Param("status") PropertyStatus status,
-        @Param("location") String location,
+    // Ranked text search over title/location/description (search_vector) with trigram
+    // fallback for typos; the same match and rank as the listing filters (ListingSqlFilter).
+    // Results are ordered by rank, so the pageable must be unsorted. The page itself never
+    // counts; the count query below runs only when the caller needs a total.
+    String TEXT_SEARCH_FILTER =
+           "FROM plots p WHERE " +
+           ListingSqlFilter.TEXT_MATCH + " AND " +
+           "(CAST(:status AS text) IS NULL OR p.status = CAST(:status AS text)) AND " +
+           "(CAST(:minPrice AS double precision) IS NULL OR p.price >= :minPrice) AND " +
+           "(CAST(:maxPrice AS double precision) IS NULL OR p.price <= :maxPrice) AND " +
+           "(CAST(:minSize AS double precision) IS NULL OR p.size >= :minSize) AND " +
+           "(CAST(:maxSize AS double precision) IS NULL OR p.size <= :maxSize) ";
+
+    @Query(value = "SELECT p.id " + TEXT_SEARCH_FILTER +
+           "ORDER BY " + ListingSqlFilter.TEXT_RANK + " DESC, p.id DESC",
+           nativeQuery = true)
+    Slice<Long> searchPlotsByText(
+        @Param("query") String query,
+        @Param("status") String status,
         @Param("minPrice") Double minPrice,
         @Param("maxPrice") Double maxPrice,
         @Param("minSize") Double minSize,
         @Param("maxSize") Double maxSize,
         Pageable pageable
     );
-    
+
+    @Query(value = "SELECT COUNT(*) " + TEXT_SEARCH_FILTER, nativeQuery = true)
+    long countPlotsByText(
+        @Param("query") String query,
+        @Param("status") String status,
+        @Param("minPrice") Double minPrice,
+        @Param("maxPrice") Double maxPrice,
+        @Param("minSize") Double minSize,
+        @Param("maxSize") Double maxSize
+    );
 }
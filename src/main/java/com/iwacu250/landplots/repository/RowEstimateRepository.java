@@ -0,0 +1,51 @@
+package com.iwacu250.landplots.repository;
+
+import com.iwacu250.landplots.search.ListingQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Row counts estimated by the Postgres planner instead of counted. EXPLAIN only plans the
+ * statement, so the cost does not grow with the table; the estimate is as good as the
+ * statistics from the last ANALYZE.
+ */
+@Repository
+public class RowEstimateRepository {
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Estimated matches of a plot or house search, planned against the listing_search read
+     * model (the query's listing type selects plots or houses).
+     */
+    public long estimateListings(ListingQuery query) {
+        Map<String, Object> params = new HashMap<>();
+        String where = ListingSqlFilter.where(query, "l", params);
+        return estimate("FROM listing_search l" + where, params);
+    }
+
+    /**
+     * Estimated rows of {@code SELECT 1 <fromWhere>}; the clause is written by the caller, only
+     * the values go in as parameters.
+     */
+    @SuppressWarnings("unchecked")
+    public long estimate(String fromWhere, Map<String, Object> params) {
+        Query explain = entityManager.createNativeQuery("EXPLAIN SELECT 1 " + fromWhere);
+        params.forEach(explain::setParameter);
+        List<Object> plan = explain.getResultList();
+        // The first plan line is the top node, e.g. "Seq Scan on plots p  (cost=0.00..35.50 rows=1234 width=4)"
+        Matcher matcher = plan.isEmpty() ? null : PLAN_ROWS.matcher(String.valueOf(plan.get(0)));
+        return matcher != null && matcher.find() ? Long.parseLong(matcher.group(1)) : 0L;
+    }
+}
@@ -1,13 +1,23 @@
 package com.iwacu250.landplots.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.iwacu250.landplots.entity.Setting;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SettingRepository extends JpaRepository<Setting, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Setting> findBySettingKey(String settingKey);
+
+    // The settings page reads every setting
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Override
+    List<Setting> findAll();
 }
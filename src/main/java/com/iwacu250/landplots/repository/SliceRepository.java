@@ -0,0 +1,75 @@
+package com.iwacu250.landplots.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Specification queries that return a {@link Slice}: one extra row is read to know whether a
+ * next page exists, and no COUNT query is run. {@code JpaSpecificationExecutor} only offers
+ * counted pages.
+ */
+@Repository
+public class SliceRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * @param specification filter, or null for every row
+     */
+    public <T> Slice<T> findSlice(Class<T> type, Specification<T> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> criteria = cb.createQuery(type);
+        Root<T> root = criteria.from(type);
+        criteria.select(root);
+        return slice(criteria, root, specification, pageable);
+    }
+
+    /**
+     * Like {@link #findSlice} but selects only the ids, for pages that are read through a projection.
+     */
+    public <T> Slice<Long> findIdSlice(Class<T> type, Specification<T> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = cb.createQuery(Long.class);
+        Root<T> root = criteria.from(type);
+        criteria.select(root.get("id"));
+        return slice(criteria, root, specification, pageable);
+    }
+
+    private <T, R> Slice<R> slice(CriteriaQuery<R> criteria, Root<T> root, Specification<T> specification,
+                                  Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, criteria, cb);
+            if (predicate != null) {
+                criteria.where(predicate);
+            }
+        }
+        if (pageable.getSort().isSorted()) {
+            criteria.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<R> query = entityManager.createQuery(criteria);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList(), pageable, false);
+        }
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize() + 1);
+        List<R> rows = query.getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+}
@@ -0,0 +1,15 @@
+package com.iwacu250.landplots.search;
+
+/**
+ * How a paginated endpoint works out the total behind its page.
+ */
+public enum CountMode {
+    // COUNT(*) over the same filter on every request
+    EXACT,
+    // Exact count, cached per filter until a write could change it
+    CACHED,
+    // Row estimate from the Postgres planner statistics; good for "about 1,000 results"
+    ESTIMATED,
+    // No total at all: the page is returned as a slice that only knows whether a next page exists
+    NONE
+}
@@ -0,0 +1,36 @@
+package com.iwacu250.landplots.search;
+
+/**
+ * Bucket edges shared by the in-memory and SQL facet paths. A value falls into bucket i when
+ * exactly i edges are &lt;= value, which matches Postgres width_bucket(value, edges).
+ */
+public final class FacetBuckets {
+
+    // RWF
+    public static final double[] PRICE_EDGES = {10_000_000, 25_000_000, 50_000_000, 100_000_000, 250_000_000};
+    // Square metres
+    public static final double[] SIZE_EDGES = {300, 500, 1_000, 5_000};
+
+    private FacetBuckets() {
+    }
+
+    public static int bucketOf(double[] edges, double value) {
+        int bucket = 0;
+        while (bucket < edges.length && edges[bucket] <= value) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    public static String label(double[] edges, int bucket) {
+        if (bucket >= edges.length) {
+            return format(edges[edges.length - 1]) + "+";
+        }
+        double lower = bucket == 0 ? 0 : edges[bucket - 1];
+        return format(lower) + "-" + format(edges[bucket]);
+    }
+
+    private static String format(double value) {
+        return String.valueOf((long) value);
+    }
+}
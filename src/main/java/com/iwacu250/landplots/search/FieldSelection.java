@@ -0,0 +1,142 @@
+package com.iwacu250.landplots.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.iwacu250.landplots.exception.InvalidFieldsException;
+import org.springframework.data.domain.Slice;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * The listing fields a client asked for, from {@code fields=title,price} or a named view
+ * ({@code card}, {@code detail}). The projection only selects those columns, and the response
+ * only carries those properties; {@code id} is always included so results stay addressable.
+ */
+public final class FieldSelection {
+
+    /** Every field; what the endpoints return when neither fields nor view is given. */
+    public static final FieldSelection ALL = new FieldSelection(Set.of());
+
+    public static final Set<String> PLOT_FIELDS = Set.of(
+            "id", "title", "location", "latitude", "longitude", "size", "sizeUnit", "price", "currency",
+            "description", "status", "featuredImageUrl", "videoUrl", "images", "features",
+            "createdAt", "updatedAt");
+
+    public static final Set<String> HOUSE_FIELDS = Set.of(
+            "id", "title", "location", "latitude", "longitude", "size", "sizeUnit", "price", "currency",
+            "description", "type", "bedrooms", "bathrooms", "yearBuilt", "floors", "status",
+            "featuredImageUrl", "videoUrl", "imageUrls", "features", "createdAt", "updatedAt");
+
+    // What a listing card shows: no description, galleries or feature lists
+    private static final Set<String> PLOT_CARD = Set.of(
+            "id", "title", "location", "price", "currency", "size", "sizeUnit", "status", "featuredImageUrl");
+
+    private static final Set<String> HOUSE_CARD = Set.of(
+            "id", "title", "location", "price", "currency", "bedrooms", "type", "status", "featuredImageUrl");
+
+    // Sorted so equal selections make equal cache keys
+    private final Set<String> fields;
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    public static FieldSelection forPlots(String fields, String view) {
+        return of(fields, view, PLOT_FIELDS, PLOT_CARD);
+    }
+
+    public static FieldSelection forHouses(String fields, String view) {
+        return of(fields, view, HOUSE_FIELDS, HOUSE_CARD);
+    }
+
+    private static FieldSelection of(String fields, String view, Set<String> known, Set<String> card) {
+        boolean hasFields = fields != null && !fields.isBlank();
+        boolean hasView = view != null && !view.isBlank();
+        if (hasFields && hasView) {
+            throw new InvalidFieldsException("Use either fields or view, not both");
+        }
+        if (hasView) {
+            switch (view.trim().toLowerCase(Locale.ROOT)) {
+                case "card":
+                    return new FieldSelection(Collections.unmodifiableSet(new TreeSet<>(card)));
+                case "detail":
+                    return ALL;
+                default:
+                    throw new InvalidFieldsException("Unknown view: " + view + " (expected card or detail)");
+            }
+        }
+        if (!hasFields) {
+            return ALL;
+        }
+
+        Set<String> requested = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toCollection(TreeSet::new));
+        Set<String> unknown = new LinkedHashSet<>(requested);
+        unknown.removeAll(known);
+        if (!unknown.isEmpty()) {
+            throw new InvalidFieldsException("Unknown fields: " + String.join(", ", unknown));
+        }
+        requested.add("id");
+        return requested.containsAll(known) ? ALL : new FieldSelection(Collections.unmodifiableSet(requested));
+    }
+
+    public boolean isAll() {
+        return fields.isEmpty();
+    }
+
+    public boolean includes(String field) {
+        return fields.isEmpty() || fields.contains(field);
+    }
+
+    /**
+     * The selected fields, or an empty set for all of them.
+     */
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * The page with each item reduced to the selected properties; unchanged when all are selected.
+     */
+    public Slice<?> apply(Slice<?> page, ObjectMapper objectMapper) {
+        if (isAll()) {
+            return page;
+        }
+        return page.map(item -> trim(item, objectMapper));
+    }
+
+    /**
+     * A single listing reduced to the selected properties.
+     */
+    public Object trim(Object item, ObjectMapper objectMapper) {
+        if (isAll() || item == null) {
+            return item;
+        }
+        JsonNode node = objectMapper.valueToTree(item);
+        return node instanceof ObjectNode object ? object.retain(fields) : node;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof FieldSelection other && fields.equals(other.fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return fields.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return isAll() ? "all" : String.join(",", fields);
+    }
+}
@@ -0,0 +1,56 @@
+package com.iwacu250.landplots.search;
+
+/**
+ * Great-circle helpers shared by the Java and SQL sides of proximity search.
+ * Bounding boxes do not wrap the antimeridian, which is fine for the areas we list in.
+ */
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private GeoUtils() {
+    }
+
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLng / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Smallest lat/lng box containing the circle, as {minLat, minLng, maxLat, maxLng}. Used to let
+     * the spatial index discard most rows before the exact distance check.
+     */
+    public static double[] boundingBox(double lat, double lng, double radiusKm) {
+        double dLat = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        double minLat = Math.max(-90, lat - dLat);
+        double maxLat = Math.min(90, lat + dLat);
+        if (minLat <= -90 || maxLat >= 90) {
+            return new double[]{minLat, -180, maxLat, 180};
+        }
+        double dLng = Math.toDegrees(radiusKm / (EARTH_RADIUS_KM * Math.cos(Math.toRadians(lat))));
+        return new double[]{minLat, Math.max(-180, lng - dLng), maxLat, Math.min(180, lng + dLng)};
+    }
+
+    /**
+     * SQL expression for the haversine distance in km from (:nearLat, :nearLng) to the row's coordinates.
+     */
+    public static String distanceSql(String alias) {
+        String a = alias + ".";
+        return "(2 * " + EARTH_RADIUS_KM + " * asin(least(1, sqrt("
+                + "power(sin(radians(" + a + "latitude - :nearLat) / 2), 2) + "
+                + "cos(radians(:nearLat)) * cos(radians(" + a + "latitude)) * "
+                + "power(sin(radians(" + a + "longitude - :nearLng) / 2), 2)))))";
+    }
+
+    public static boolean hasPoint(ListingQuery query) {
+        return query.getNearLat() != null && query.getNearLng() != null;
+    }
+
+    public static boolean hasBoundingBox(ListingQuery query) {
+        return query.getMinLat() != null && query.getMaxLat() != null
+                && query.getMinLng() != null && query.getMaxLng() != null;
+    }
+}
@@ -0,0 +1,41 @@
+package com.iwacu250.landplots.search;
+
+import com.iwacu250.landplots.exception.InvalidCursorException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset pagination cursor: the sort the page was produced with plus the sort value
+ * and id of its last row. The next page continues strictly after that (value, id) pair.
+ */
+@Value
+public class KeysetCursor {
+    String sortBy;
+    boolean ascending;
+    String value;
+    Long id;
+
+    public static KeysetCursor of(String sortBy, boolean ascending, Object value, Long id) {
+        return new KeysetCursor(sortBy, ascending, value != null ? value.toString() : "", id);
+    }
+
+    public String encode() {
+        String raw = sortBy + "|" + (ascending ? "a" : "d") + "|" + value + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new KeysetCursor(parts[0], "a".equals(parts[1]), parts[2], Long.valueOf(parts[3]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.iwacu250.landplots.search;
+
+import lombok.Getter;
+
+/**
+ * Published by PlotService and HouseService whenever a listing (or its images/features) changes.
+ * Listeners should use {@code @TransactionalEventListener} so they only see committed data; the
+ * listing_search read model is the exception and is written inside the publishing transaction,
+ * unless the publisher already wrote the row itself (see {@link #projected}).
+ */
+@Getter
+public class ListingChangedEvent {
+
+    private final ListingType listingType;
+    private final Long listingId;
+    // null when the listing was deleted
+    private final ListingDocument document;
+    // true when the publisher has already written the listing_search row
+    private final boolean readModelWritten;
+
+    private ListingChangedEvent(ListingType listingType, Long listingId, ListingDocument document,
+                                boolean readModelWritten) {
+        this.listingType = listingType;
+        this.listingId = listingId;
+        this.document = document;
+        this.readModelWritten = readModelWritten;
+    }
+
+    public static ListingChangedEvent upserted(ListingDocument document) {
+        return new ListingChangedEvent(document.getListingType(), document.getId(), document, false);
+    }
+
+    /**
+     * For bulk writers that upsert the listing_search rows of many listings in one batch.
+     */
+    public static ListingChangedEvent projected(ListingDocument document) {
+        return new ListingChangedEvent(document.getListingType(), document.getId(), document, true);
+    }
+
+    public static ListingChangedEvent deleted(ListingType listingType, Long listingId) {
+        return new ListingChangedEvent(listingType, listingId, null, false);
+    }
+
+    public boolean isDeleted() {
+        return document == null;
+    }
+}
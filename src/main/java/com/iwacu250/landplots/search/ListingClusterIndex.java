@@ -0,0 +1,252 @@
+package com.iwacu250.landplots.search;
+
+import com.iwacu250.landplots.entity.PropertyStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-zoom grid aggregates (count, min price, centroid) over the available, geolocated listings.
+ * <p>
+ * Cells follow the Web Mercator tile grid, split {@link #CELL_SPLIT_BITS} more times than the
+ * map tiles at that zoom, so a 256px tile holds a 4x4 block of 64px cells. Every listing is
+ * counted once per zoom level and is moved between cells incrementally as it changes, so a
+ * map request only reads the cells inside its bounding box.
+ */
+public class ListingClusterIndex {
+
+    public static final int MIN_ZOOM = 0;
+    public static final int MAX_ZOOM = 18;
+    private static final int CELL_SPLIT_BITS = 2;
+    private static final double MAX_MERCATOR_LAT = 85.05112878;
+
+    /**
+     * Snapshot of one grid cell, safe to read outside the lock.
+     */
+    public static final class CellView {
+        public final int count;
+        public final double minPrice;
+        public final double centroidLat;
+        public final double centroidLng;
+        // Set only when the cell holds a single listing, so clients can draw it as a pin
+        public final String singleListingKey;
+
+        CellView(int count, double minPrice, double centroidLat, double centroidLng, String singleListingKey) {
+            this.count = count;
+            this.minPrice = minPrice;
+            this.centroidLat = centroidLat;
+            this.centroidLng = centroidLng;
+            this.singleListingKey = singleListingKey;
+        }
+    }
+
+    private static final class Placement {
+        final double lat;
+        final double lng;
+        final double price;
+
+        Placement(double lat, double lng, double price) {
+            this.lat = lat;
+            this.lng = lng;
+            this.price = price;
+        }
+    }
+
+    private static final class Cell {
+        final Map<String, Double> prices = new HashMap<>();
+        double sumLat;
+        double sumLng;
+        double minPrice = Double.MAX_VALUE;
+
+        void add(String key, Placement placement) {
+            prices.put(key, placement.price);
+            sumLat += placement.lat;
+            sumLng += placement.lng;
+            minPrice = Math.min(minPrice, placement.price);
+        }
+
+        void remove(String key, Placement placement) {
+            prices.remove(key);
+            sumLat -= placement.lat;
+            sumLng -= placement.lng;
+            // Only rescan when the cheapest listing left the cell
+            if (placement.price <= minPrice) {
+                minPrice = Double.MAX_VALUE;
+                for (double price : prices.values()) {
+                    minPrice = Math.min(minPrice, price);
+                }
+            }
+        }
+
+        CellView view() {
+            int count = prices.size();
+            String single = count == 1 ? prices.keySet().iterator().next() : null;
+            return new CellView(count, minPrice, sumLat / count, sumLng / count, single);
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Placement> placements = new HashMap<>();
+    private final List<Map<Long, Cell>> cellsByZoom = new ArrayList<>();
+
+    private volatile boolean ready = false;
+
+    public ListingClusterIndex() {
+        for (int zoom = MIN_ZOOM; zoom <= MAX_ZOOM; zoom++) {
+            cellsByZoom.add(new HashMap<>());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void rebuild(Collection<ListingDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            placements.clear();
+            cellsByZoom.forEach(Map::clear);
+            for (ListingDocument document : documents) {
+                upsertLocked(document);
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsert(ListingDocument document) {
+        lock.writeLock().lock();
+        try {
+            upsertLocked(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(ListingType listingType, Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key(listingType, id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Non-empty cells of the given zoom level that intersect the bounding box.
+     */
+    public List<CellView> cells(int zoom, double minLat, double minLng, double maxLat, double maxLng) {
+        int level = cellLevel(zoom);
+        long minX = cellX(minLng, level);
+        long maxX = cellX(maxLng, level);
+        // Mercator y grows southwards
+        long minY = cellY(maxLat, level);
+        long maxY = cellY(minLat, level);
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Cell> cells = cellsByZoom.get(clampZoom(zoom) - MIN_ZOOM);
+            List<CellView> result = new ArrayList<>();
+            long area = (maxX - minX + 1) * (maxY - minY + 1);
+            if (area <= cells.size()) {
+                for (long x = minX; x <= maxX; x++) {
+                    for (long y = minY; y <= maxY; y++) {
+                        Cell cell = cells.get(cellKey(x, y));
+                        if (cell != null) {
+                            result.add(cell.view());
+                        }
+                    }
+                }
+            } else {
+                cells.forEach((cellKey, cell) -> {
+                    long x = cellKey >>> 32;
+                    long y = cellKey & 0xFFFFFFFFL;
+                    if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                        result.add(cell.view());
+                    }
+                });
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static String key(ListingType listingType, Long id) {
+        return listingType.name() + ":" + id;
+    }
+
+    public static int clampZoom(int zoom) {
+        return Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom));
+    }
+
+    private void upsertLocked(ListingDocument document) {
+        String key = key(document.getListingType(), document.getId());
+        removeLocked(key);
+        if (!isClusterable(document)) {
+            return;
+        }
+        Placement placement = new Placement(document.getLatitude(), document.getLongitude(), document.getPrice());
+        placements.put(key, placement);
+        for (int zoom = MIN_ZOOM; zoom <= MAX_ZOOM; zoom++) {
+            int level = cellLevel(zoom);
+            long cellKey = cellKey(cellX(placement.lng, level), cellY(placement.lat, level));
+            cellsByZoom.get(zoom - MIN_ZOOM).computeIfAbsent(cellKey, k -> new Cell()).add(key, placement);
+        }
+    }
+
+    private void removeLocked(String key) {
+        Placement placement = placements.remove(key);
+        if (placement == null) {
+            return;
+        }
+        for (int zoom = MIN_ZOOM; zoom <= MAX_ZOOM; zoom++) {
+            int level = cellLevel(zoom);
+            long cellKey = cellKey(cellX(placement.lng, level), cellY(placement.lat, level));
+            Map<Long, Cell> cells = cellsByZoom.get(zoom - MIN_ZOOM);
+            Cell cell = cells.get(cellKey);
+            if (cell != null) {
+                cell.remove(key, placement);
+                if (cell.prices.isEmpty()) {
+                    cells.remove(cellKey);
+                }
+            }
+        }
+    }
+
+    // Only listings a buyer can act on, and only those we can place on the map
+    private static boolean isClusterable(ListingDocument document) {
+        return document.getStatus() == PropertyStatus.AVAILABLE
+                && document.getLatitude() != null
+                && document.getLongitude() != null
+                && document.getPrice() != null;
+    }
+
+    private static int cellLevel(int zoom) {
+        return clampZoom(zoom) + CELL_SPLIT_BITS;
+    }
+
+    private static long cellX(double lng, int level) {
+        double normalized = (Math.max(-180, Math.min(180, lng)) + 180) / 360;
+        return clampCell((long) Math.floor(normalized * (1L << level)), level);
+    }
+
+    private static long cellY(double lat, int level) {
+        double radians = Math.toRadians(Math.max(-MAX_MERCATOR_LAT, Math.min(MAX_MERCATOR_LAT, lat)));
+        double normalized = (1 - Math.log(Math.tan(radians) + 1 / Math.cos(radians)) / Math.PI) / 2;
+        return clampCell((long) Math.floor(normalized * (1L << level)), level);
+    }
+
+    private static long clampCell(long value, int level) {
+        return Math.max(0, Math.min((1L << level) - 1, value));
+    }
+
+    private static long cellKey(long x, long y) {
+        return (x << 32) | y;
+    }
+}
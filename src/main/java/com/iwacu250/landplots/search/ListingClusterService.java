@@ -0,0 +1,87 @@
+package com.iwacu250.landplots.search;
+
+import com.iwacu250.landplots.dto.ListingClusterDTO;
+import com.iwacu250.landplots.exception.IndexNotReadyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Serves map clusters from a {@link ListingClusterIndex} kept in step with plot and house writes.
+ * Changes committed while the snapshot is loading are held back and applied on top of the loaded
+ * snapshot, so the swap never drops them.
+ */
+@Service
+public class ListingClusterService implements ListingSnapshotListener {
+
+    private final ListingClusterIndex clusterIndex = new ListingClusterIndex();
+    // Guarded by itself; non-null while the snapshot is loading
+    private final Object rebuildLock = new Object();
+    private List<ListingChangedEvent> pendingChanges;
+
+    @Override
+    public void snapshotLoading() {
+        synchronized (rebuildLock) {
+            pendingChanges = new ArrayList<>();
+        }
+    }
+
+    @Override
+    public void snapshotLoaded(List<ListingDocument> plots, List<ListingDocument> houses) {
+        synchronized (rebuildLock) {
+            if (houses != null) {
+                List<ListingDocument> documents = new ArrayList<>(plots.size() + houses.size());
+                documents.addAll(plots);
+                documents.addAll(houses);
+                clusterIndex.rebuild(documents);
+            }
+            pendingChanges.forEach(this::apply);
+            pendingChanges = null;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        synchronized (rebuildLock) {
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+                return;
+            }
+            apply(event);
+        }
+    }
+
+    private void apply(ListingChangedEvent event) {
+        if (event.isDeleted()) {
+            clusterIndex.remove(event.getListingType(), event.getListingId());
+        } else {
+            clusterIndex.upsert(event.getDocument());
+        }
+    }
+
+    public List<ListingClusterDTO> clusters(int zoom, double minLat, double minLng, double maxLat, double maxLng) {
+        if (!clusterIndex.isReady()) {
+            throw new IndexNotReadyException("map clusters");
+        }
+        return clusterIndex.cells(zoom, minLat, minLng, maxLat, maxLng).stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    private ListingClusterDTO toDto(ListingClusterIndex.CellView cell) {
+        ListingClusterDTO dto = new ListingClusterDTO();
+        dto.setCount(cell.count);
+        dto.setMinPrice(cell.minPrice);
+        dto.setLatitude(cell.centroidLat);
+        dto.setLongitude(cell.centroidLng);
+        if (cell.singleListingKey != null) {
+            int separator = cell.singleListingKey.indexOf(':');
+            dto.setListingType(ListingType.valueOf(cell.singleListingKey.substring(0, separator)));
+            dto.setListingId(Long.valueOf(cell.singleListingKey.substring(separator + 1)));
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,155 @@
+package com.iwacu250.landplots.search;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.iwacu250.landplots.dto.HouseDTO;
+import com.iwacu250.landplots.dto.PlotDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Plot and house detail responses kept as serialized JSON, with the gzip variant compressed
+ * once when the entry is loaded. A hit is written out as it is: no query, mapping or Jackson
+ * pass. Entries are dropped when the listing changes (see {@link ListingChangedEvent}), and
+ * every house entry when a shared house feature is edited.
+ */
+@Service
+public class ListingDetailCache {
+
+    // Below this the gzip framing costs more than it saves
+    private static final int MIN_COMPRESS_BYTES = 512;
+
+    // Writers bound to the DTO type: the root serializer is resolved once, not per entry
+    private final ObjectWriter plotWriter;
+    private final ObjectWriter houseWriter;
+    private final SearchResultCache<Long, SerializedDetail> plotCache;
+    private final SearchResultCache<Long, SerializedDetail> houseCache;
+
+    public ListingDetailCache(ObjectMapper objectMapper,
+                              @Value("${listing.detail-cache.max-entries:1000}") int maxEntries,
+                              @Value("${listing.detail-cache.ttl-seconds:3600}") long ttlSeconds) {
+        this.plotWriter = objectMapper.writerFor(PlotDTO.class);
+        this.houseWriter = objectMapper.writerFor(HouseDTO.class);
+        long ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        // Writes evict the entry, so there is no background refresh: an entry lives until its TTL
+        this.plotCache = new SearchResultCache<>(maxEntries, ttlMillis, ttlMillis, detail -> Set.of(), Runnable::run);
+        this.houseCache = new SearchResultCache<>(maxEntries, ttlMillis, ttlMillis, detail -> Set.of(), Runnable::run);
+    }
+
+    public SerializedDetail plot(Long id, Supplier<PlotDTO> loader) {
+        return plotCache.get(id, () -> serialize(plotWriter, loader.get()));
+    }
+
+    public SerializedDetail house(Long id, Supplier<HouseDTO> loader) {
+        return houseCache.get(id, () -> serialize(houseWriter, loader.get()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        Long changed = event.getListingId();
+        cache(event.getListingType()).invalidate((id, ids) -> id.equals(changed));
+    }
+
+    /**
+     * Drops every cached listing of the type once the current transaction commits; features are
+     * shared, so editing one changes the detail of every plot and house that has it.
+     */
+    public void evictAllAfterCommit(ListingType listingType) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache(listingType).clear();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache(listingType).clear();
+            }
+        });
+    }
+
+    private SearchResultCache<Long, SerializedDetail> cache(ListingType listingType) {
+        return listingType == ListingType.PLOT ? plotCache : houseCache;
+    }
+
+    private static SerializedDetail serialize(ObjectWriter writer, Object detail) {
+        try {
+            byte[] json = writer.writeValueAsBytes(detail);
+            return new SerializedDetail(json, json.length >= MIN_COMPRESS_BYTES ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize listing detail: " + e.getMessage(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 3);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] compressed = out.toByteArray();
+        return compressed.length < json.length ? compressed : null;
+    }
+
+    /**
+     * A serialized detail response; {@code gzip} is null when compressing does not pay off.
+     */
+    public static final class SerializedDetail {
+        private final byte[] json;
+        private final byte[] gzip;
+
+        private SerializedDetail(byte[] json, byte[] gzip) {
+            this.json = json;
+            this.gzip = gzip;
+        }
+
+        /**
+         * The response for a request with the given Accept-Encoding header. The byte arrays are
+         * shared between requests and must not be modified.
+         */
+        public ResponseEntity<byte[]> toResponse(String acceptEncoding) {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (gzip != null && acceptsGzip(acceptEncoding)) {
+                return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip);
+            }
+            return response.body(json);
+        }
+
+        // "gzip" or "*" with a non-zero quality, e.g. "gzip, deflate, br" or "br;q=1.0, gzip;q=0.8"
+        private static boolean acceptsGzip(String acceptEncoding) {
+            if (acceptEncoding == null) {
+                return false;
+            }
+            for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+                String[] parts = coding.trim().split(";");
+                String name = parts[0].trim();
+                if (!name.equals("gzip") && !name.equals("*")) {
+                    continue;
+                }
+                boolean refused = parts.length > 1 && parts[1].trim().matches("q\\s*=\\s*0(\\.0*)?");
+                if (!refused) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.iwacu250.landplots.search;
+
+import com.iwacu250.landplots.entity.Feature;
+import com.iwacu250.landplots.entity.House;
+import com.iwacu250.landplots.entity.HouseFeature;
+import com.iwacu250.landplots.entity.Plot;
+import com.iwacu250.landplots.entity.PropertyStatus;
+import com.iwacu250.landplots.entity.PropertyType;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of the searchable fields of a plot or house.
+ * Built while the entity is still attached, so listeners can use it after commit.
+ */
+@Value
+public class ListingDocument {
+    ListingType listingType;
+    Long id;
+    String title;
+    String location;
+    Double latitude;
+    Double longitude;
+    Double price;
+    String currency;
+    Double size;
+    String sizeUnit;
+    Integer bedrooms;
+    PropertyStatus status;
+    PropertyType propertyType;
+    Set<String> features;
+    String featuredImageUrl;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+
+    public static ListingDocument fromPlot(Plot plot) {
+        Set<String> features = plot.getFeatures() == null ? Set.of() : plot.getFeatures().stream()
+                .map(Feature::getName)
+                .map(ListingDocument::normalizeFeature)
+                .collect(Collectors.toSet());
+        return new ListingDocument(ListingType.PLOT, plot.getId(), plot.getTitle(), plot.getLocation(),
+                plot.getLatitude(), plot.getLongitude(),
+                plot.getPrice(), plot.getCurrency(), plot.getSize(), plot.getSizeUnit(), null, plot.getStatus(),
+                PropertyType.LAND, features, plot.getFeaturedImageUrl(), plot.getCreatedAt(), plot.getUpdatedAt());
+    }
+
+    public static ListingDocument fromHouse(House house) {
+        Set<String> features = house.getFeatures().stream()
+                .map(HouseFeature::getName)
+                .map(ListingDocument::normalizeFeature)
+                .collect(Collectors.toSet());
+        return new ListingDocument(ListingType.HOUSE, house.getId(), house.getTitle(), house.getLocation(),
+                house.getLatitude(), house.getLongitude(),
+                house.getPrice(), house.getCurrency(), house.getSize(), house.getSizeUnit(), house.getBedrooms(),
+                house.getStatus(), house.getType(), features, house.getFeaturedImageUrl(),
+                house.getCreatedAt(), house.getUpdatedAt());
+    }
+
+    public static String normalizeFeature(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,85 @@
+package com.iwacu250.landplots.search;
+
+import com.iwacu250.landplots.entity.House;
+import com.iwacu250.landplots.entity.Plot;
+import com.iwacu250.landplots.repository.HouseRepository;
+import com.iwacu250.landplots.repository.PlotRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads every plot or house as a {@link ListingDocument}, in id-ordered batches, for the
+ * in-memory structures that are rebuilt at startup (see {@link ListingSnapshotLoader}); or a
+ * given set of them, when a shared row such as a feature changes.
+ */
+@Component
+public class ListingDocumentLoader {
+
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    @Autowired
+    private PlotRepository plotRepository;
+
+    @Autowired
+    private HouseRepository houseRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Every listing of the type, read in keyset batches. The persistence context is cleared after
+     * each batch, so only the documents stay on the heap, not the entities they were read from.
+     */
+    @Transactional(readOnly = true)
+    public List<ListingDocument> loadAll(ListingType listingType) {
+        List<ListingDocument> documents = new ArrayList<>();
+        Pageable batch = PageRequest.of(0, LOAD_BATCH_SIZE, Sort.by("id"));
+        long afterId = 0L;
+        boolean more = true;
+        while (more) {
+            if (listingType == ListingType.PLOT) {
+                Slice<Plot> plots = plotRepository.findByIdGreaterThan(afterId, batch);
+                plots.forEach(plot -> documents.add(ListingDocument.fromPlot(plot)));
+                more = plots.hasNext();
+            } else {
+                Slice<House> houses = houseRepository.findByIdGreaterThan(afterId, batch);
+                houses.forEach(house -> documents.add(ListingDocument.fromHouse(house)));
+                more = houses.hasNext();
+            }
+            if (!documents.isEmpty()) {
+                afterId = documents.get(documents.size() - 1).getId();
+            }
+            entityManager.clear();
+        }
+        return documents;
+    }
+
+    /**
+     * The documents of the listings that still exist among the ids.
+     */
+    @Transactional(readOnly = true)
+    public List<ListingDocument> load(ListingType listingType, Collection<Long> ids) {
+        List<Long> remaining = new ArrayList<>(ids);
+        List<ListingDocument> documents = new ArrayList<>(remaining.size());
+        for (int from = 0; from < remaining.size(); from += LOAD_BATCH_SIZE) {
+            List<Long> batch = remaining.subList(from, Math.min(from + LOAD_BATCH_SIZE, remaining.size()));
+            if (listingType == ListingType.PLOT) {
+                plotRepository.findAllById(batch).forEach(plot -> documents.add(ListingDocument.fromPlot(plot)));
+            } else {
+                houseRepository.findAllById(batch).forEach(house -> documents.add(ListingDocument.fromHouse(house)));
+            }
+        }
+        return documents;
+    }
+}
@@ -0,0 +1,435 @@
+package com.iwacu250.landplots.search;
+
+import com.iwacu250.landplots.dto.FacetCountsDTO;
+import com.iwacu250.landplots.entity.PropertyStatus;
+import com.iwacu250.landplots.entity.PropertyType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory, column-oriented index over one listing type.
+ * <p>
+ * Each listing occupies a slot; numeric fields live in primitive arrays indexed by slot and
+ * categorical fields (status, type, features) live in bitmaps of slots. A query ANDs the bitmaps,
+ * scans the surviving slots against the range filters and keeps only the requested page with a
+ * bounded heap, so it never touches the database. Callers hydrate the returned ids themselves.
+ */
+public class ListingIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NO_BEDROOMS = -1;
+    private static final byte NO_VALUE = -1;
+
+    public enum SortField {
+        ID, PRICE, SIZE, BEDROOMS, CREATED_AT, UPDATED_AT;
+
+        /**
+         * Maps an entity property name (as used in Sort / sortBy) to an indexed column,
+         * or returns null when the index cannot order by it.
+         */
+        public static SortField fromProperty(String property) {
+            if (property == null) {
+                return null;
+            }
+            switch (property) {
+                case "id": return ID;
+                case "price": return PRICE;
+                case "size": return SIZE;
+                case "bedrooms": return BEDROOMS;
+                case "createdAt": return CREATED_AT;
+                case "updatedAt": return UPDATED_AT;
+                default: return null;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface SlotComparator {
+        int compare(int a, int b);
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+    private final Map<PropertyStatus, BitSet> statusBitmaps = new EnumMap<>(PropertyStatus.class);
+    private final Map<PropertyType, BitSet> typeBitmaps = new EnumMap<>(PropertyType.class);
+    private final Map<String, BitSet> featureBitmaps = new HashMap<>();
+    private final List<Set<String>> slotFeatures = new ArrayList<>();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private double[] prices = new double[INITIAL_CAPACITY];
+    private double[] sizes = new double[INITIAL_CAPACITY];
+    private int[] bedrooms = new int[INITIAL_CAPACITY];
+    private byte[] statuses = new byte[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private long[] createdAt = new long[INITIAL_CAPACITY];
+    private long[] updatedAt = new long[INITIAL_CAPACITY];
+    private int nextSlot = 0;
+
+    private volatile boolean ready = false;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index content and marks it ready for queries.
+     */
+    public void rebuild(Collection<ListingDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            slotsById.clear();
+            freeSlots.clear();
+            live.clear();
+            statusBitmaps.clear();
+            typeBitmaps.clear();
+            featureBitmaps.clear();
+            slotFeatures.clear();
+            nextSlot = 0;
+            for (ListingDocument document : documents) {
+                upsertLocked(document);
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsert(ListingDocument document) {
+        lock.writeLock().lock();
+        try {
+            upsertLocked(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.remove(id);
+            if (slot == null) {
+                return;
+            }
+            clearBitmaps(slot);
+            live.clear(slot);
+            freeSlots.push(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the requested page, in order, together with the total match count.
+     */
+    public Page<Long> search(ListingQuery query, SortField sortField) {
+        lock.readLock().lock();
+        try {
+            BitSet candidates = filterBitmaps(query);
+
+            int[] matches = new int[candidates.cardinality()];
+            int count = 0;
+            for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                if (matchesRanges(slot, query)) {
+                    matches[count++] = slot;
+                }
+            }
+
+            PageRequest pageRequest = PageRequest.of(query.getPage(), query.getSize());
+            long from = pageRequest.getOffset();
+            if (from >= count) {
+                return new PageImpl<>(List.of(), pageRequest, count);
+            }
+            int to = (int) Math.min(count, from + query.getSize());
+
+            int[] ordered = topK(matches, count, to, comparator(sortField, query.isAscending()));
+            List<Long> pageIds = new ArrayList<>(to - (int) from);
+            for (int i = (int) from; i < to; i++) {
+                pageIds.add(ids[ordered[i]]);
+            }
+            return new PageImpl<>(pageIds, pageRequest, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts status, type, bedrooms, price and size buckets in a single scan. A listing counts
+     * towards a facet when it passes every active filter except that facet's own.
+     */
+    public FacetCountsDTO facets(ListingQuery query, boolean includeTypeAndBedrooms) {
+        lock.readLock().lock();
+        try {
+            BitSet candidates = (BitSet) live.clone();
+            if (query.getFeatures() != null) {
+                for (String feature : query.getFeatures()) {
+                    candidates.and(featureBitmaps.getOrDefault(ListingDocument.normalizeFeature(feature), new BitSet()));
+                }
+            }
+
+            long[] statusCounts = new long[PropertyStatus.values().length];
+            long[] typeCounts = new long[PropertyType.values().length];
+            long[] priceCounts = new long[FacetBuckets.PRICE_EDGES.length + 1];
+            long[] sizeCounts = new long[FacetBuckets.SIZE_EDGES.length + 1];
+            Map<Integer, Long> bedroomCounts = new TreeMap<>();
+
+            for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                boolean statusOk = query.getStatus() == null || statuses[slot] == query.getStatus().ordinal();
+                boolean typeOk = query.getPropertyType() == null || types[slot] == query.getPropertyType().ordinal();
+                boolean priceOk = (query.getMinPrice() == null || prices[slot] >= query.getMinPrice())
+                        && (query.getMaxPrice() == null || prices[slot] <= query.getMaxPrice());
+                boolean sizeOk = (query.getMinSize() == null || sizes[slot] >= query.getMinSize())
+                        && (query.getMaxSize() == null || sizes[slot] <= query.getMaxSize());
+                boolean bedroomsOk = query.getBedrooms() == null || bedrooms[slot] == query.getBedrooms();
+
+                int failures = (statusOk ? 0 : 1) + (typeOk ? 0 : 1) + (priceOk ? 0 : 1)
+                        + (sizeOk ? 0 : 1) + (bedroomsOk ? 0 : 1);
+                if (failures > 1) {
+                    continue;
+                }
+                if (failures == (statusOk ? 0 : 1) && statuses[slot] != NO_VALUE) {
+                    statusCounts[statuses[slot]]++;
+                }
+                if (failures == (typeOk ? 0 : 1) && types[slot] != NO_VALUE) {
+                    typeCounts[types[slot]]++;
+                }
+                if (failures == (priceOk ? 0 : 1)) {
+                    priceCounts[FacetBuckets.bucketOf(FacetBuckets.PRICE_EDGES, prices[slot])]++;
+                }
+                if (failures == (sizeOk ? 0 : 1)) {
+                    sizeCounts[FacetBuckets.bucketOf(FacetBuckets.SIZE_EDGES, sizes[slot])]++;
+                }
+                if (failures == (bedroomsOk ? 0 : 1) && bedrooms[slot] != NO_BEDROOMS) {
+                    bedroomCounts.merge(bedrooms[slot], 1L, Long::sum);
+                }
+            }
+
+            FacetCountsDTO facets = new FacetCountsDTO();
+            for (PropertyStatus status : PropertyStatus.values()) {
+                facets.getStatus().put(status.name(), statusCounts[status.ordinal()]);
+            }
+            for (int i = 0; i < priceCounts.length; i++) {
+                facets.getPrice().put(FacetBuckets.label(FacetBuckets.PRICE_EDGES, i), priceCounts[i]);
+            }
+            for (int i = 0; i < sizeCounts.length; i++) {
+                facets.getSize().put(FacetBuckets.label(FacetBuckets.SIZE_EDGES, i), sizeCounts[i]);
+            }
+            if (includeTypeAndBedrooms) {
+                Map<String, Long> typeFacet = new LinkedHashMap<>();
+                for (PropertyType type : PropertyType.values()) {
+                    typeFacet.put(type.name(), typeCounts[type.ordinal()]);
+                }
+                facets.setType(typeFacet);
+                Map<String, Long> bedroomFacet = new LinkedHashMap<>();
+                bedroomCounts.forEach((count, total) -> bedroomFacet.put(String.valueOf(count), total));
+                facets.setBedrooms(bedroomFacet);
+            }
+            return facets;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet filterBitmaps(ListingQuery query) {
+        BitSet candidates = (BitSet) live.clone();
+        if (query.getStatus() != null) {
+            candidates.and(statusBitmaps.getOrDefault(query.getStatus(), new BitSet()));
+        }
+        if (query.getPropertyType() != null) {
+            candidates.and(typeBitmaps.getOrDefault(query.getPropertyType(), new BitSet()));
+        }
+        if (query.getFeatures() != null) {
+            for (String feature : query.getFeatures()) {
+                candidates.and(featureBitmaps.getOrDefault(ListingDocument.normalizeFeature(feature), new BitSet()));
+            }
+        }
+        return candidates;
+    }
+
+    private boolean matchesRanges(int slot, ListingQuery query) {
+        if (query.getMinPrice() != null && prices[slot] < query.getMinPrice()) return false;
+        if (query.getMaxPrice() != null && prices[slot] > query.getMaxPrice()) return false;
+        if (query.getMinSize() != null && sizes[slot] < query.getMinSize()) return false;
+        if (query.getMaxSize() != null && sizes[slot] > query.getMaxSize()) return false;
+        if (query.getBedrooms() != null && bedrooms[slot] != query.getBedrooms()) return false;
+        return true;
+    }
+
+    private SlotComparator comparator(SortField sortField, boolean ascending) {
+        SlotComparator byKey;
+        switch (sortField) {
+            case PRICE: byKey = (a, b) -> Double.compare(prices[a], prices[b]); break;
+            case SIZE: byKey = (a, b) -> Double.compare(sizes[a], sizes[b]); break;
+            case BEDROOMS: byKey = (a, b) -> Integer.compare(bedrooms[a], bedrooms[b]); break;
+            case CREATED_AT: byKey = (a, b) -> Long.compare(createdAt[a], createdAt[b]); break;
+            case UPDATED_AT: byKey = (a, b) -> Long.compare(updatedAt[a], updatedAt[b]); break;
+            default: byKey = (a, b) -> 0; break;
+        }
+        // Ties are broken by id so that pages are stable
+        SlotComparator withId = (a, b) -> {
+            int result = byKey.compare(a, b);
+            return result != 0 ? result : Long.compare(ids[a], ids[b]);
+        };
+        return ascending ? withId : (a, b) -> withId.compare(b, a);
+    }
+
+    /**
+     * Returns the first {@code k} slots of {@code slots[0..count)} in comparator order,
+     * using a bounded max-heap so only O(count log k) work is done.
+     */
+    private int[] topK(int[] slots, int count, int k, SlotComparator comparator) {
+        int[] heap = new int[k];
+        int heapSize = 0;
+        for (int i = 0; i < count; i++) {
+            int slot = slots[i];
+            if (heapSize < k) {
+                heap[heapSize] = slot;
+                siftUp(heap, heapSize, comparator);
+                heapSize++;
+            } else if (comparator.compare(slot, heap[0]) < 0) {
+                heap[0] = slot;
+                siftDown(heap, heapSize, comparator);
+            }
+        }
+        // Pop the largest remaining element into the tail until the heap is empty
+        int[] ordered = new int[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            ordered[i] = heap[0];
+            heap[0] = heap[i];
+            siftDown(heap, i, comparator);
+        }
+        return ordered;
+    }
+
+    private void siftUp(int[] heap, int index, SlotComparator comparator) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (comparator.compare(heap[index], heap[parent]) <= 0) {
+                return;
+            }
+            swap(heap, index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int heapSize, SlotComparator comparator) {
+        int index = 0;
+        while (true) {
+            int left = 2 * index + 1;
+            int right = left + 1;
+            int largest = index;
+            if (left < heapSize && comparator.compare(heap[left], heap[largest]) > 0) {
+                largest = left;
+            }
+            if (right < heapSize && comparator.compare(heap[right], heap[largest]) > 0) {
+                largest = right;
+            }
+            if (largest == index) {
+                return;
+            }
+            swap(heap, index, largest);
+            index = largest;
+        }
+    }
+
+    private void swap(int[] heap, int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+
+    private void upsertLocked(ListingDocument document) {
+        Integer slot = slotsById.get(document.getId());
+        if (slot == null) {
+            slot = freeSlots.isEmpty() ? allocateSlot() : freeSlots.pop();
+            slotsById.put(document.getId(), slot);
+        } else {
+            clearBitmaps(slot);
+        }
+
+        ids[slot] = document.getId();
+        prices[slot] = document.getPrice() != null ? document.getPrice() : 0d;
+        sizes[slot] = document.getSize() != null ? document.getSize() : 0d;
+        bedrooms[slot] = document.getBedrooms() != null ? document.getBedrooms() : NO_BEDROOMS;
+        statuses[slot] = document.getStatus() != null ? (byte) document.getStatus().ordinal() : NO_VALUE;
+        types[slot] = document.getPropertyType() != null ? (byte) document.getPropertyType().ordinal() : NO_VALUE;
+        createdAt[slot] = toEpochMillis(document.getCreatedAt());
+        updatedAt[slot] = toEpochMillis(document.getUpdatedAt());
+
+        live.set(slot);
+        if (document.getStatus() != null) {
+            statusBitmaps.computeIfAbsent(document.getStatus(), s -> new BitSet()).set(slot);
+        }
+        if (document.getPropertyType() != null) {
+            typeBitmaps.computeIfAbsent(document.getPropertyType(), t -> new BitSet()).set(slot);
+        }
+        Set<String> features = document.getFeatures() != null ? document.getFeatures() : Set.of();
+        for (String feature : features) {
+            featureBitmaps.computeIfAbsent(feature, f -> new BitSet()).set(slot);
+        }
+        slotFeatures.set(slot, features);
+    }
+
+    private int allocateSlot() {
+        if (nextSlot == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+            bedrooms = Arrays.copyOf(bedrooms, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            types = Arrays.copyOf(types, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            updatedAt = Arrays.copyOf(updatedAt, capacity);
+        }
+        slotFeatures.add(Set.of());
+        return nextSlot++;
+    }
+
+    private void clearBitmaps(int slot) {
+        statusBitmaps.values().forEach(bitmap -> bitmap.clear(slot));
+        typeBitmaps.values().forEach(bitmap -> bitmap.clear(slot));
+        for (String feature : slotFeatures.get(slot)) {
+            BitSet bitmap = featureBitmaps.get(feature);
+            if (bitmap != null) {
+                bitmap.clear(slot);
+                if (bitmap.isEmpty()) {
+                    featureBitmaps.remove(feature);
+                }
+            }
+        }
+        slotFeatures.set(slot, Set.of());
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+}
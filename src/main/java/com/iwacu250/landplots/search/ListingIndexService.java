@@ -0,0 +1,118 @@
+package com.iwacu250.landplots.search;
+
+import com.iwacu250.landplots.dto.FacetCountsDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Optional;
+
+/**
+ * Keeps one {@link ListingIndex} per listing type in sync with the database and answers
+ * filtered, sorted id pages from memory. Returns empty when the index cannot serve a query
+ * (still loading, or an unsupported sort), in which case callers fall back to the repository.
+ * Changes committed while the snapshot is loading are held back and applied on top of it, so the
+ * swap never drops them.
+ */
+@Service
+public class ListingIndexService implements ListingSnapshotListener {
+
+    private final ListingIndex plotIndex = new ListingIndex();
+    private final ListingIndex houseIndex = new ListingIndex();
+    // Guarded by itself; non-null while the snapshot is loading
+    private final Object rebuildLock = new Object();
+    private List<ListingChangedEvent> pendingChanges;
+
+    @Override
+    public void snapshotLoading() {
+        synchronized (rebuildLock) {
+            pendingChanges = new ArrayList<>();
+        }
+    }
+
+    @Override
+    public void snapshotLoaded(List<ListingDocument> plots, List<ListingDocument> houses) {
+        synchronized (rebuildLock) {
+            if (houses != null) {
+                plotIndex.rebuild(plots);
+                houseIndex.rebuild(houses);
+            }
+            pendingChanges.forEach(this::apply);
+            pendingChanges = null;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        synchronized (rebuildLock) {
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+                return;
+            }
+            apply(event);
+        }
+    }
+
+    /**
+     * Replaces the documents of listings changed without a {@link ListingChangedEvent} of their
+     * own (a shared feature was renamed or deleted); ids without a document are removed.
+     */
+    public void refresh(ListingType listingType, Collection<Long> ids, List<ListingDocument> documents) {
+        Set<Long> missing = new HashSet<>(ids);
+        for (ListingDocument document : documents) {
+            onListingChanged(ListingChangedEvent.upserted(document));
+            missing.remove(document.getId());
+        }
+        missing.forEach(id -> onListingChanged(ListingChangedEvent.deleted(listingType, id)));
+    }
+
+    private void apply(ListingChangedEvent event) {
+        ListingIndex index = indexFor(event.getListingType());
+        if (event.isDeleted()) {
+            index.remove(event.getListingId());
+        } else {
+            index.upsert(event.getDocument());
+        }
+    }
+
+    public Optional<Page<Long>> searchPlots(ListingQuery query) {
+        return search(plotIndex, query);
+    }
+
+    public Optional<Page<Long>> searchHouses(ListingQuery query) {
+        return search(houseIndex, query);
+    }
+
+    public Optional<FacetCountsDTO> plotFacets(ListingQuery query) {
+        return facets(plotIndex, query, false);
+    }
+
+    public Optional<FacetCountsDTO> houseFacets(ListingQuery query) {
+        return facets(houseIndex, query, true);
+    }
+
+    // Free-text location matching needs the tsvector / trigram indexes, so only the database can count it
+    private Optional<FacetCountsDTO> facets(ListingIndex index, ListingQuery query, boolean includeTypeAndBedrooms) {
+        if (!index.isReady() || (query.getLocation() != null && !query.getLocation().isBlank())) {
+            return Optional.empty();
+        }
+        return Optional.of(index.facets(query, includeTypeAndBedrooms));
+    }
+
+    private Optional<Page<Long>> search(ListingIndex index, ListingQuery query) {
+        ListingIndex.SortField sortField = ListingIndex.SortField.fromProperty(query.getSortBy());
+        if (!index.isReady() || sortField == null || query.getSize() <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(index.search(query, sortField));
+    }
+
+    private ListingIndex indexFor(ListingType listingType) {
+        return listingType == ListingType.PLOT ? plotIndex : houseIndex;
+    }
+}
@@ -0,0 +1,80 @@
+package com.iwacu250.landplots.search;
+
+import com.iwacu250.landplots.entity.PropertyStatus;
+import com.iwacu250.landplots.entity.PropertyType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Set;
+
+@Value
+@Builder(toBuilder = true)
+public class ListingQuery {
+    // Only meaningful for the combined listing_search read model
+    ListingType listingType;
+    // Free-text location term; only the database paths can evaluate it
+    String location;
+    PropertyStatus status;
+    PropertyType propertyType;
+    Double minPrice;
+    Double maxPrice;
+    Double minSize;
+    Double maxSize;
+    Integer bedrooms;
+    // Bounding box, in degrees
+    Double minLat;
+    Double maxLat;
+    Double minLng;
+    Double maxLng;
+    // Centre point for radius filtering and nearest-first ordering
+    Double nearLat;
+    Double nearLng;
+    Double radiusKm;
+    @Builder.Default
+    Set<String> features = Set.of();
+    @Builder.Default
+    String sortBy = "id";
+    boolean ascending;
+    int page;
+    int size;
+    // Columns the page is projected with; part of the result cache key, ignored by mayMatch
+    @Builder.Default
+    FieldSelection selection = FieldSelection.ALL;
+
+    /**
+     * Whether the listing could be part of this query's results. Conservative: the free-text
+     * location and geo filters cannot be evaluated in memory and are treated as matching.
+     */
+    public boolean mayMatch(ListingDocument document) {
+        if (listingType != null && listingType != document.getListingType()) {
+            return false;
+        }
+        if (status != null && status != document.getStatus()) {
+            return false;
+        }
+        if (propertyType != null && propertyType != document.getPropertyType()) {
+            return false;
+        }
+        if (bedrooms != null && !bedrooms.equals(document.getBedrooms())) {
+            return false;
+        }
+        if (!inRange(document.getPrice(), minPrice, maxPrice) || !inRange(document.getSize(), minSize, maxSize)) {
+            return false;
+        }
+        if (features != null) {
+            for (String feature : features) {
+                if (!document.getFeatures().contains(ListingDocument.normalizeFeature(feature))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean inRange(Double value, Double min, Double max) {
+        if (value == null) {
+            return min == null && max == null;
+        }
+        return (min == null || value >= min) && (max == null || value <= max);
+    }
+}
@@ -0,0 +1,56 @@
+package com.iwacu250.landplots.search;
+
+import com.iwacu250.landplots.entity.ListingSearchEntry;
+import com.iwacu250.landplots.repository.ListingSearchRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Projects plot and house changes into the listing_search read model.
+ * <p>
+ * Unlike the in-memory index this is a plain {@code @EventListener}: it runs synchronously inside
+ * the PlotService/HouseService transaction, so the read row commits or rolls back with the write.
+ */
+@Component
+public class ListingSearchProjector {
+
+    @Autowired
+    private ListingSearchRepository listingSearchRepository;
+
+    @EventListener
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void onListingChanged(ListingChangedEvent event) {
+        if (event.isReadModelWritten()) {
+            return;
+        }
+        if (event.isDeleted()) {
+            listingSearchRepository.deleteByListing(event.getListingType(), event.getListingId());
+            return;
+        }
+
+        ListingDocument document = event.getDocument();
+        ListingSearchEntry entry = listingSearchRepository
+                .findByListingTypeAndListingId(document.getListingType(), document.getId())
+                .orElseGet(ListingSearchEntry::new);
+        entry.setListingType(document.getListingType());
+        entry.setListingId(document.getId());
+        entry.setTitle(document.getTitle());
+        entry.setLocation(document.getLocation());
+        entry.setLatitude(document.getLatitude());
+        entry.setLongitude(document.getLongitude());
+        entry.setPrice(document.getPrice());
+        entry.setCurrency(document.getCurrency());
+        entry.setSize(document.getSize());
+        entry.setSizeUnit(document.getSizeUnit());
+        entry.setBedrooms(document.getBedrooms());
+        entry.setStatus(document.getStatus());
+        entry.setPropertyType(document.getPropertyType());
+        entry.setFeaturedImageUrl(document.getFeaturedImageUrl());
+        entry.setCreatedAt(document.getCreatedAt());
+        entry.setUpdatedAt(document.getUpdatedAt());
+        listingSearchRepository.save(entry);
+    }
+}
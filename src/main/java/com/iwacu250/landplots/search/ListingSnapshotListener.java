@@ -0,0 +1,22 @@
+package com.iwacu250.landplots.search;
+
+import java.util.List;
+
+/**
+ * An in-memory structure built from every plot and house at startup. {@link ListingSnapshotLoader}
+ * reads the listings once and hands the same documents to each listener.
+ */
+public interface ListingSnapshotListener {
+
+    /**
+     * Called before the listings are read. Changes committed from here on may be missing from the
+     * snapshot, so they have to be held back and applied after {@link #snapshotLoaded}.
+     */
+    void snapshotLoading();
+
+    /**
+     * Called with the loaded documents, or with nulls when loading failed, in which case only the
+     * held-back changes are applied.
+     */
+    void snapshotLoaded(List<ListingDocument> plots, List<ListingDocument> houses);
+}
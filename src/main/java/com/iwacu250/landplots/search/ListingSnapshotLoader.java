@@ -0,0 +1,53 @@
+package com.iwacu250.landplots.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Loads every plot and house once at startup and builds each {@link ListingSnapshotListener}
+ * (listing index, map clusters, location autocomplete, search cache snapshot) from the same
+ * documents, instead of each of them reading and keeping its own copy.
+ */
+@Component
+public class ListingSnapshotLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(ListingSnapshotLoader.class);
+
+    private final ListingDocumentLoader documentLoader;
+    private final List<ListingSnapshotListener> listeners;
+
+    public ListingSnapshotLoader(ListingDocumentLoader documentLoader, List<ListingSnapshotListener> listeners) {
+        this.documentLoader = documentLoader;
+        this.listeners = listeners;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        listeners.forEach(ListingSnapshotListener::snapshotLoading);
+        List<ListingDocument> plots = null;
+        List<ListingDocument> houses = null;
+        try {
+            plots = documentLoader.loadAll(ListingType.PLOT);
+            houses = documentLoader.loadAll(ListingType.HOUSE);
+        } finally {
+            if (houses == null) {
+                plots = null;
+            }
+            for (ListingSnapshotListener listener : listeners) {
+                try {
+                    listener.snapshotLoaded(plots, houses);
+                } catch (RuntimeException e) {
+                    logger.error("Building {} from the listing snapshot failed", listener.getClass().getSimpleName(), e);
+                }
+            }
+        }
+        logger.info("Listing snapshot of {} plots and {} houses built in {} ms",
+                plots.size(), houses.size(), System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,6 @@
+package com.iwacu250.landplots.search;
+
+public enum ListingType {
+    PLOT,
+    HOUSE
+}
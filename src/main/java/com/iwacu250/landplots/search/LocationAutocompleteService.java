@@ -0,0 +1,128 @@
+package com.iwacu250.landplots.search;
+
+import com.iwacu250.landplots.dto.LocationSuggestionDTO;
+import com.iwacu250.landplots.exception.IndexNotReadyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Location typeahead served entirely from memory. The {@link LocationTrie} is built from every
+ * plot and house location at startup and adjusted after each committed listing change, so
+ * keystrokes never reach Postgres. Changes committed while the snapshot is loading are held back
+ * and applied on top of it, so the swap never drops them.
+ */
+@Service
+public class LocationAutocompleteService implements ListingSnapshotListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocationAutocompleteService.class);
+    private static final int MAX_SUGGESTIONS = 20;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LocationTrie trie = new LocationTrie();
+    // Listing key -> location it currently contributes, so updates can retract the old value
+    private final Map<String, String> locationsByListing = new HashMap<>();
+    // Guarded by the write lock; non-null while the snapshot is loading
+    private List<ListingChangedEvent> pendingChanges;
+    private volatile boolean ready = false;
+
+    @Override
+    public void snapshotLoading() {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void snapshotLoaded(List<ListingDocument> plots, List<ListingDocument> houses) {
+        int locations;
+        lock.writeLock().lock();
+        try {
+            if (houses != null) {
+                trie.clear();
+                locationsByListing.clear();
+                plots.forEach(this::upsertLocked);
+                houses.forEach(this::upsertLocked);
+                ready = true;
+            }
+            pendingChanges.forEach(this::applyLocked);
+            pendingChanges = null;
+            locations = trie.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Location autocomplete holds {} distinct locations", locations);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+                return;
+            }
+            applyLocked(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyLocked(ListingChangedEvent event) {
+        if (event.isDeleted()) {
+            String previous = locationsByListing.remove(key(event.getListingType(), event.getListingId()));
+            if (previous != null) {
+                trie.remove(previous);
+            }
+        } else {
+            upsertLocked(event.getDocument());
+        }
+    }
+
+    public List<LocationSuggestionDTO> suggest(String prefix, int limit) {
+        if (!ready) {
+            throw new IndexNotReadyException("location suggestions");
+        }
+        int max = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        lock.readLock().lock();
+        try {
+            return trie.suggest(prefix, max).stream()
+                    .map(suggestion -> new LocationSuggestionDTO(suggestion.location, suggestion.count))
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void upsertLocked(ListingDocument document) {
+        String key = key(document.getListingType(), document.getId());
+        String location = document.getLocation();
+        String previous = location != null
+                ? locationsByListing.put(key, location)
+                : locationsByListing.remove(key);
+        if (previous != null && previous.equals(location)) {
+            return;
+        }
+        if (previous != null) {
+            trie.remove(previous);
+        }
+        if (location != null) {
+            trie.add(location);
+        }
+    }
+
+    private static String key(ListingType listingType, Long id) {
+        return listingType.name() + ":" + id;
+    }
+}
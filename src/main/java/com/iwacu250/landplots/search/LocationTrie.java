@@ -0,0 +1,204 @@
+package com.iwacu250.landplots.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Prefix trie over distinct listing locations for typeahead.
+ * <p>
+ * Every word of a location starts its own path ("Kicukiro, Kigali" is reachable from "kic" and
+ * from "kig"). Lookups walk the trie with a Levenshtein row per node, so a prefix matches within
+ * a small edit distance and whole branches are pruned as soon as they cannot. Locations are
+ * reference-counted by the number of listings that use them, which is also the ranking signal.
+ * Not thread-safe; {@link LocationAutocompleteService} guards it with a read/write lock.
+ */
+public class LocationTrie {
+
+    public static final class Suggestion {
+        public final String location;
+        public final int count;
+        public final int distance;
+
+        Suggestion(String location, int count, int distance) {
+            this.location = location;
+            this.count = count;
+            this.distance = distance;
+        }
+    }
+
+    private static final class Node {
+        final Map<Character, Node> children = new HashMap<>();
+        // Normalized locations whose word suffix ends here
+        Set<String> terminals;
+    }
+
+    private final Node root = new Node();
+    private final Map<String, Integer> counts = new HashMap<>();
+    private final Map<String, String> displayNames = new HashMap<>();
+
+    public void clear() {
+        root.children.clear();
+        counts.clear();
+        displayNames.clear();
+    }
+
+    public int size() {
+        return counts.size();
+    }
+
+    public void add(String location) {
+        String normalized = normalize(location);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        if (counts.merge(normalized, 1, Integer::sum) == 1) {
+            displayNames.put(normalized, location.trim());
+            for (int start : wordStarts(normalized)) {
+                insert(normalized.substring(start), normalized);
+            }
+        }
+    }
+
+    public void remove(String location) {
+        String normalized = normalize(location);
+        Integer count = counts.get(normalized);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            counts.put(normalized, count - 1);
+            return;
+        }
+        counts.remove(normalized);
+        displayNames.remove(normalized);
+        for (int start : wordStarts(normalized)) {
+            delete(root, normalized.substring(start), 0, normalized);
+        }
+    }
+
+    /**
+     * Best matches for a (possibly misspelled) prefix: closest edit distance first, then the
+     * locations with the most listings.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String query = normalize(prefix);
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int maxEdits = query.length() < 4 ? 0 : query.length() < 8 ? 1 : 2;
+
+        int[] firstRow = new int[query.length() + 1];
+        for (int i = 0; i <= query.length(); i++) {
+            firstRow[i] = i;
+        }
+        Map<String, Integer> distances = new HashMap<>();
+        for (Map.Entry<Character, Node> child : root.children.entrySet()) {
+            search(child.getValue(), child.getKey(), query, firstRow, Integer.MAX_VALUE, maxEdits, distances);
+        }
+
+        List<Suggestion> suggestions = new ArrayList<>(distances.size());
+        distances.forEach((normalized, distance) ->
+                suggestions.add(new Suggestion(displayNames.get(normalized), counts.get(normalized), distance)));
+        suggestions.sort(Comparator.<Suggestion>comparingInt(s -> s.distance)
+                .thenComparing(s -> -s.count)
+                .thenComparing(s -> s.location));
+        return suggestions.size() > limit ? suggestions.subList(0, limit) : suggestions;
+    }
+
+    private void search(Node node, char letter, String query, int[] previousRow, int bestPrefixDistance,
+                        int maxEdits, Map<String, Integer> distances) {
+        int columns = query.length() + 1;
+        int[] row = new int[columns];
+        row[0] = previousRow[0] + 1;
+        int rowMin = row[0];
+        for (int i = 1; i < columns; i++) {
+            int substitution = previousRow[i - 1] + (query.charAt(i - 1) == letter ? 0 : 1);
+            row[i] = Math.min(Math.min(row[i - 1] + 1, previousRow[i] + 1), substitution);
+            rowMin = Math.min(rowMin, row[i]);
+        }
+        // Distance of the whole query against the best prefix of this path so far
+        int best = Math.min(bestPrefixDistance, row[columns - 1]);
+
+        if (best <= maxEdits && node.terminals != null) {
+            for (String terminal : node.terminals) {
+                distances.merge(terminal, best, Math::min);
+            }
+        }
+        if (rowMin > maxEdits) {
+            // No extension can bring the query closer; only an already matched prefix keeps the branch
+            if (best <= maxEdits) {
+                collect(node, best, distances);
+            }
+            return;
+        }
+        for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+            search(child.getValue(), child.getKey(), query, row, best, maxEdits, distances);
+        }
+    }
+
+    private void collect(Node node, int distance, Map<String, Integer> distances) {
+        for (Node child : node.children.values()) {
+            if (child.terminals != null) {
+                for (String terminal : child.terminals) {
+                    distances.merge(terminal, distance, Math::min);
+                }
+            }
+            collect(child, distance, distances);
+        }
+    }
+
+    private void insert(String suffix, String normalized) {
+        Node node = root;
+        for (int i = 0; i < suffix.length(); i++) {
+            node = node.children.computeIfAbsent(suffix.charAt(i), c -> new Node());
+        }
+        if (node.terminals == null) {
+            node.terminals = new HashSet<>();
+        }
+        node.terminals.add(normalized);
+    }
+
+    // Returns true when the node is left empty and can be unlinked from its parent
+    private boolean delete(Node node, String suffix, int depth, String normalized) {
+        if (depth == suffix.length()) {
+            if (node.terminals != null) {
+                node.terminals.remove(normalized);
+                if (node.terminals.isEmpty()) {
+                    node.terminals = null;
+                }
+            }
+        } else {
+            char letter = suffix.charAt(depth);
+            Node child = node.children.get(letter);
+            if (child != null && delete(child, suffix, depth + 1, normalized)) {
+                node.children.remove(letter);
+            }
+        }
+        return node.terminals == null && node.children.isEmpty();
+    }
+
+    private static List<Integer> wordStarts(String normalized) {
+        List<Integer> starts = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            boolean wordChar = Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && (i == 0 || !Character.isLetterOrDigit(normalized.charAt(i - 1)))) {
+                starts.add(i);
+            }
+        }
+        return starts;
+    }
+
+    public static String normalize(String location) {
+        if (location == null) {
+            return "";
+        }
+        // Punctuation is treated as a word break, so "Gasabo, Kigali" and "gasabo kigali" match alike
+        return location.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+}
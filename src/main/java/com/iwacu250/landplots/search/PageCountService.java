@@ -0,0 +1,106 @@
+package com.iwacu250.landplots.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Turns a count-free {@link Slice} into the response for the requested {@link CountMode}.
+ * <p>
+ * Pages are always loaded without a COUNT (one extra row tells whether a next page exists);
+ * the total is then taken from the exact query, the per-scope count cache or the planner
+ * estimate. The last page never needs a count, since its total is its offset plus its size.
+ */
+@Service
+public class PageCountService {
+
+    public static final String PLOTS = "plots";
+    public static final String HOUSES = "houses";
+    public static final String INQUIRIES = "inquiries";
+    public static final String FEATURES = "features";
+
+    private final Map<String, SearchResultCache<Object, Long>> caches = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    public PageCountService(@Value("${search.count-cache.max-entries:200}") int maxEntries,
+                            @Value("${search.count-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+    }
+
+    /**
+     * Adds the total to a slice loaded for the given scope and filter. A {@link Page} (already
+     * counted, e.g. by the in-memory index) is returned as it is.
+     */
+    public <T> Slice<T> complete(Slice<T> slice, CountMode mode, String scope, Object filter,
+                                 LongSupplier exactCount, LongSupplier estimatedCount) {
+        if (slice instanceof Page || mode == CountMode.NONE) {
+            return slice;
+        }
+        long seen = slice.getPageable().isPaged()
+                ? slice.getPageable().getOffset() + slice.getNumberOfElements()
+                : slice.getNumberOfElements();
+        // The last page proves the total, unless it is empty past the end (page=50 of 3), where
+        // the offset says nothing about how many rows there are; as in PageableExecutionUtils
+        boolean pastTheEnd = slice.getNumberOfElements() == 0 && slice.getPageable().isPaged()
+                && slice.getPageable().getOffset() > 0;
+        if (!slice.hasNext() && !pastTheEnd) {
+            return new PageImpl<>(slice.getContent(), slice.getPageable(), seen);
+        }
+        long total = switch (mode) {
+            case CACHED -> cache(scope).get(filter, exactCount::getAsLong);
+            case ESTIMATED -> estimatedCount.getAsLong();
+            default -> exactCount.getAsLong();
+        };
+        if (pastTheEnd) {
+            return new PageImpl<>(slice.getContent(), slice.getPageable(), total);
+        }
+        // An estimate can be off, but never below what this page already proves
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), Math.max(total, seen + 1));
+    }
+
+    /**
+     * Drops the cached counts of the scope whose filter is affected by a change.
+     */
+    public void invalidate(String scope, Predicate<Object> affected) {
+        SearchResultCache<Object, Long> cache = caches.get(scope);
+        if (cache != null) {
+            cache.invalidate((filter, ids) -> affected.test(filter));
+        }
+    }
+
+    /**
+     * Clears the scope once the current transaction commits (at once when there is none), so a
+     * count loaded before the commit is never kept.
+     */
+    public void invalidateAfterCommit(String scope) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(scope, filter -> true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(scope, filter -> true);
+            }
+        });
+    }
+
+    // Counts have no background refresh: an entry is used until its TTL, then reloaded
+    private SearchResultCache<Object, Long> cache(String scope) {
+        return caches.computeIfAbsent(scope, name ->
+                new SearchResultCache<>(maxEntries, ttlMillis, ttlMillis, count -> Set.of(), Runnable::run));
+    }
+}
@@ -0,0 +1,171 @@
+package com.iwacu250.landplots.search;
+
+import com.iwacu250.landplots.dto.HouseDTO;
+import com.iwacu250.landplots.dto.PlotDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Result caches for the public plot and house searches, and invalidation of their cached totals.
+ * <p>
+ * Invalidation is per entry: when a listing changes, only the cached searches that the listing
+ * matched before the change, matches after it, or currently appears in are dropped. The previous
+ * state comes from a snapshot of every listing kept here; until that snapshot is loaded any
+ * change clears the whole cache for its type. The snapshot shares its documents with the other
+ * {@link ListingSnapshotListener}s, and changes committed while it loads are applied on top of it.
+ */
+@Service
+public class SearchCacheService implements ListingSnapshotListener {
+
+    private final ThreadPoolExecutor refreshExecutor = new ThreadPoolExecutor(1, 2, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(100), runnable -> {
+                Thread thread = new Thread(runnable, "search-cache-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final Map<String, ListingDocument> lastKnown = new ConcurrentHashMap<>();
+    // Guarded by itself; non-null while the snapshot is loading
+    private final Object snapshotLock = new Object();
+    private List<ListingChangedEvent> pendingChanges;
+    private volatile boolean snapshotReady = false;
+
+    private final SearchResultCache<ListingQuery, Slice<PlotDTO>> plotCache;
+    private final SearchResultCache<ListingQuery, Slice<HouseDTO>> houseCache;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    private PageCountService pageCountService;
+
+    public SearchCacheService(PlatformTransactionManager transactionManager,
+                              @Value("${search.cache.max-entries:500}") int maxEntries,
+                              @Value("${search.cache.fresh-seconds:30}") long freshSeconds,
+                              @Value("${search.cache.stale-seconds:300}") long staleSeconds) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        long freshMillis = TimeUnit.SECONDS.toMillis(freshSeconds);
+        long staleMillis = TimeUnit.SECONDS.toMillis(staleSeconds);
+        this.plotCache = new SearchResultCache<>(maxEntries, freshMillis, staleMillis,
+                page -> page.getContent().stream().map(PlotDTO::getId).collect(Collectors.toSet()), refreshExecutor);
+        this.houseCache = new SearchResultCache<>(maxEntries, freshMillis, staleMillis,
+                page -> page.getContent().stream().map(HouseDTO::getId).collect(Collectors.toSet()), refreshExecutor);
+    }
+
+    /**
+     * Returns the cached page for the normalized query, loading it in a read-only transaction
+     * (shared with the caller's when there is one, so background refreshes can map lazy fields too).
+     */
+    public Slice<PlotDTO> plots(ListingQuery query, Supplier<Slice<PlotDTO>> loader) {
+        return plotCache.get(query, () -> readOnlyTransaction.execute(status -> loader.get()));
+    }
+
+    public Slice<HouseDTO> houses(ListingQuery query, Supplier<Slice<HouseDTO>> loader) {
+        return houseCache.get(query, () -> readOnlyTransaction.execute(status -> loader.get()));
+    }
+
+    @Override
+    public void snapshotLoading() {
+        synchronized (snapshotLock) {
+            pendingChanges = new ArrayList<>();
+        }
+    }
+
+    @Override
+    public void snapshotLoaded(List<ListingDocument> plots, List<ListingDocument> houses) {
+        synchronized (snapshotLock) {
+            if (houses != null) {
+                lastKnown.clear();
+                plots.forEach(document -> lastKnown.put(key(ListingType.PLOT, document.getId()), document));
+                houses.forEach(document -> lastKnown.put(key(ListingType.HOUSE, document.getId()), document));
+            }
+            pendingChanges.forEach(this::apply);
+            pendingChanges = null;
+            if (houses != null) {
+                snapshotReady = true;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        ListingDocument previous = remember(event);
+        ListingDocument current = event.getDocument();
+        SearchResultCache<ListingQuery, ?> cache = event.getListingType() == ListingType.PLOT ? plotCache : houseCache;
+        String countScope = event.getListingType() == ListingType.PLOT ? PageCountService.PLOTS : PageCountService.HOUSES;
+
+        if (!snapshotReady) {
+            cache.clear();
+            pageCountService.invalidate(countScope, filter -> true);
+            return;
+        }
+        Long id = event.getListingId();
+        cache.invalidate((query, ids) -> ids.contains(id)
+                || (previous != null && query.mayMatch(previous))
+                || (current != null && query.mayMatch(current)));
+        // Cached totals only change for filters the listing matched before or matches now
+        pageCountService.invalidate(countScope, filter -> !(filter instanceof ListingQuery)
+                || (previous != null && ((ListingQuery) filter).mayMatch(previous))
+                || (current != null && ((ListingQuery) filter).mayMatch(current)));
+    }
+
+    /**
+     * For listings changed through a shared row (a feature renamed or deleted): updates their
+     * snapshot entries and drops every cached search and total of the type, since any feature
+     * filter or cached page may name the old feature.
+     */
+    public void refresh(ListingType listingType, Collection<Long> ids, List<ListingDocument> documents) {
+        Set<Long> missing = new HashSet<>(ids);
+        for (ListingDocument document : documents) {
+            remember(ListingChangedEvent.upserted(document));
+            missing.remove(document.getId());
+        }
+        missing.forEach(id -> remember(ListingChangedEvent.deleted(listingType, id)));
+        (listingType == ListingType.PLOT ? plotCache : houseCache).clear();
+        pageCountService.invalidate(listingType == ListingType.PLOT ? PageCountService.PLOTS : PageCountService.HOUSES,
+                filter -> true);
+    }
+
+    // Updates the snapshot entry and returns the previous one. While the snapshot is loading the
+    // change is also held back, to be applied again on top of what was loaded
+    private ListingDocument remember(ListingChangedEvent event) {
+        synchronized (snapshotLock) {
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+            return apply(event);
+        }
+    }
+
+    private ListingDocument apply(ListingChangedEvent event) {
+        String key = key(event.getListingType(), event.getListingId());
+        return event.isDeleted() ? lastKnown.remove(key) : lastKnown.put(key, event.getDocument());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private static String key(ListingType listingType, Long id) {
+        return listingType.name() + ":" + id;
+    }
+}
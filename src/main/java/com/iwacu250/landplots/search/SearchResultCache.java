@@ -0,0 +1,163 @@
+package com.iwacu250.landplots.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of search results (pages or counts) keyed by the normalized query.
+ * <ul>
+ *   <li>Concurrent misses for the same key share one load (single flight).</li>
+ *   <li>Entries older than the fresh window but inside the stale window are returned at once
+ *       while a background refresh runs, so a slow or failing database does not stall readers.</li>
+ *   <li>Entries are dropped through {@link #invalidate} when a listing that could appear in them
+ *       changes; loads that were running across an invalidation are returned but not stored.</li>
+ * </ul>
+ */
+public class SearchResultCache<K, V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchResultCache.class);
+
+    private static final class Entry<V> {
+        final V value;
+        final Set<Long> ids;
+        final long loadedAt;
+
+        Entry(V value, Set<Long> ids, long loadedAt) {
+            this.value = value;
+            this.ids = ids;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private final Map<K, Entry<V>> entries;
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Function<V, Set<Long>> idsOf;
+    private final Executor refreshExecutor;
+    private final long freshMillis;
+    private final long staleMillis;
+
+    public SearchResultCache(int maxEntries, long freshMillis, long staleMillis,
+                             Function<V, Set<Long>> idsOf, Executor refreshExecutor) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.freshMillis = freshMillis;
+        this.staleMillis = staleMillis;
+        this.idsOf = idsOf;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        Entry<V> entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null) {
+            long age = System.currentTimeMillis() - entry.loadedAt;
+            if (age < freshMillis) {
+                return entry.value;
+            }
+            if (age < staleMillis) {
+                refreshInBackground(key, loader);
+                return entry.value;
+            }
+        }
+        return load(key, loader);
+    }
+
+    /**
+     * Drops every entry for which {@code affected} returns true, given its key and the ids it holds.
+     */
+    public void invalidate(BiPredicate<K, Collection<Long>> affected) {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<K, Entry<V>> entry = iterator.next();
+                if (affected.test(entry.getKey(), entry.getValue().ids)) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return await(running);
+        }
+
+        long startGeneration = generation.get();
+        try {
+            V value = loader.get();
+            if (startGeneration == generation.get()) {
+                synchronized (entries) {
+                    entries.put(key, new Entry<>(value, idsOf.apply(value), System.currentTimeMillis()));
+                }
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private void refreshInBackground(K key, Supplier<V> loader) {
+        if (inFlight.containsKey(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(key, loader);
+                } catch (RuntimeException e) {
+                    // Keep serving the stale entry until it leaves the stale window
+                    logger.warn("Background refresh of search {} failed: {}", key, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Search refresh queue full, serving stale result for {}", key);
+        }
+    }
+
+    private V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -59,11 +59,14 @@ public class SecurityConfig {
                     "/api/contact/submitInquiry",
                     "/api/houses/**",
                     "/api/plots/**",
+                    "/api/listings/**",
                     "/api/features/**",
                     "/api/settings/getPublicSettings",
                     "/api/settings/public",
                     "/error"
                 ).permitAll()
+                // Exports dump whole tables; matched before the temporary permit-all rules below
+                .requestMatchers("/api/admin/plots/export", "/api/admin/houses/export").hasRole("ADMIN")
                 // Temporarily allow admin plots endpoints without auth for debugging
                 .requestMatchers("/api/admin/plots/**").permitAll()
                 // Temporarily allow admin houses endpoints without auth for debugging
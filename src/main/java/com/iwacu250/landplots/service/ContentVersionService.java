@@ -0,0 +1,226 @@
+package com.iwacu250.landplots.service;
+
+import com.iwacu250.landplots.search.ListingChangedEvent;
+import com.iwacu250.landplots.search.ListingType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Version counters behind the ETag and Last-Modified headers of the public read endpoints.
+ * <p>
+ * Each collection (plots, houses, features, settings) and each listing that changed since
+ * startup has a counter, bumped after the writing transaction completes. Validators are built
+ * from the counters alone, so a conditional request is answered with 304 before anything is
+ * loaded. The startup time is part of every tag, so tags issued before a restart never match.
+ * <p>
+ * The anonymous resources are tagged with surrogate keys for the reverse proxy, and every bump
+ * purges the keys of what changed (see {@link EdgeCacheService}). Endpoints that need a login
+ * get validators only, with {@code Cache-Control: private, no-cache}.
+ */
+@Service
+public class ContentVersionService {
+
+    public static final String PLOTS = "plots";
+    public static final String HOUSES = "houses";
+    public static final String FEATURES = "features";
+    public static final String SETTINGS = "settings";
+
+    // Responses that need authentication must never be stored by a shared cache
+    private static final String PRIVATE_CACHE_CONTROL = "private, no-cache";
+
+    private static final class Counter {
+        final long value;
+        final long modifiedAt;
+
+        Counter(long value, long modifiedAt) {
+            this.value = value;
+            this.modifiedAt = modifiedAt;
+        }
+    }
+
+    private final long startedAt = System.currentTimeMillis();
+    private final String epoch = Long.toString(startedAt, 36);
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final EdgeCacheService edgeCache;
+
+    public ContentVersionService(EdgeCacheService edgeCache) {
+        this.edgeCache = edgeCache;
+    }
+
+    // Listings embed their feature names, so a feature edit changes them too
+    public Version plots() {
+        return version(PLOTS, List.of("plots:list", FEATURES), PLOTS, FEATURES);
+    }
+
+    public Version houses() {
+        return version(HOUSES, List.of("houses:list", FEATURES), HOUSES, FEATURES);
+    }
+
+    public Version plot(Long id) {
+        String key = listingKey(ListingType.PLOT, id);
+        return version("plot-" + id, List.of(key, FEATURES), key, FEATURES);
+    }
+
+    public Version house(Long id) {
+        String key = listingKey(ListingType.HOUSE, id);
+        return version("house-" + id, List.of(key, FEATURES), key, FEATURES);
+    }
+
+    // /api/house-features is not open to anonymous users, so it is not cached at the edge
+    public Version features() {
+        return privateVersion(FEATURES, FEATURES);
+    }
+
+    public Version publicSettings() {
+        return version(SETTINGS, List.of("settings:public"), SETTINGS);
+    }
+
+    // Admin only: validators for the browser, no edge caching
+    public Version allSettings() {
+        return privateVersion("settings-all", SETTINGS);
+    }
+
+    /**
+     * AFTER_COMPLETION runs once every AFTER_COMMIT listener is done, i.e. after the search,
+     * index and detail caches dropped what the change affects. A tag read after the bump can
+     * therefore never be paired with data cached before the change.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        String listing = listingKey(event.getListingType(), event.getListingId());
+        String collection = event.getListingType() == ListingType.PLOT ? PLOTS : HOUSES;
+        bump(listing);
+        bump(collection);
+        List<String> purged = new ArrayList<>(List.of(listing));
+        purged.addAll(surrogateKeys(collection));
+        edgeCache.purge(purged);
+    }
+
+    /**
+     * Bumps the collection once the current transaction has committed (at once without one).
+     */
+    public void changedAfterCommit(String collection) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changed(collection);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    changed(collection);
+                }
+            }
+        });
+    }
+
+    private void changed(String collection) {
+        bump(collection);
+        edgeCache.purge(surrogateKeys(collection));
+    }
+
+    // The edge keys of a collection; listing keys (plot:42) are their own surrogate key
+    private static List<String> surrogateKeys(String collection) {
+        switch (collection) {
+            case PLOTS:
+                return List.of("plots:list");
+            case HOUSES:
+                return List.of("houses:list");
+            case SETTINGS:
+                return List.of("settings:public");
+            default:
+                return List.of(collection);
+        }
+    }
+
+    private void bump(String key) {
+        counters.compute(key, (name, counter) ->
+                new Counter(counter == null ? 1 : counter.value + 1, System.currentTimeMillis()));
+    }
+
+    private Version version(String name, List<String> surrogateKeys, String... keys) {
+        return version(name, String.join(" ", surrogateKeys), edgeCache.getCacheControl(), keys);
+    }
+
+    private Version privateVersion(String name, String... keys) {
+        return version(name, null, PRIVATE_CACHE_CONTROL, keys);
+    }
+
+    private Version version(String name, String surrogateKeys, String cacheControl, String... keys) {
+        StringBuilder tag = new StringBuilder("W/\"").append(name).append('-').append(epoch);
+        long lastModified = startedAt;
+        for (String key : keys) {
+            Counter counter = counters.get(key);
+            tag.append('.').append(counter != null ? counter.value : 0);
+            if (counter != null) {
+                lastModified = Math.max(lastModified, counter.modifiedAt);
+            }
+        }
+        return new Version(tag.append('"').toString(), lastModified, surrogateKeys,
+                edgeCache.getKeyHeader(), cacheControl);
+    }
+
+    private static String listingKey(ListingType listingType, Long id) {
+        return (listingType == ListingType.PLOT ? "plot:" : "house:") + id;
+    }
+
+    /**
+     * The validators and cache headers of one response. Tags are weak: the same content may be
+     * sent gzipped or not.
+     */
+    public static final class Version {
+        private final String etag;
+        private final long lastModified;
+        private final String surrogateKeys;
+        private final String keyHeader;
+        private final String cacheControl;
+
+        private Version(String etag, long lastModified, String surrogateKeys, String keyHeader,
+                        String cacheControl) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.surrogateKeys = surrogateKeys;
+            this.keyHeader = keyHeader;
+            this.cacheControl = cacheControl;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public String getSurrogateKeys() {
+            return surrogateKeys;
+        }
+
+        /**
+         * Sets the validators and cache headers on the response and returns true when the
+         * request's If-None-Match or If-Modified-Since already matches; the response is then a
+         * 304 and the handler should return null.
+         */
+        public boolean checkNotModified(WebRequest request) {
+            if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+                // Clients always revalidate instead of using heuristic freshness from Last-Modified
+                servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+                if (surrogateKeys != null) {
+                    servletRequest.getResponse().setHeader(keyHeader, surrogateKeys);
+                }
+            }
+            return request.checkNotModified(etag, lastModified);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.iwacu250.landplots.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reverse-proxy caching of the public read endpoints. Responses are tagged with surrogate keys
+ * (e.g. {@code plot:42}, {@code plots:list}, {@code settings:public}); when the content behind
+ * a key changes, the key is purged at the edge. Purges are sent from a background thread, and
+ * keys queued while a purge is running go out together in the next one.
+ */
+@Service
+public class EdgeCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EdgeCacheService.class);
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ThreadPoolExecutor purgeExecutor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1), runnable -> {
+                Thread thread = new Thread(runnable, "surrogate-purge");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final SurrogatePurger purger;
+    private final String keyHeader;
+    private final String cacheControl;
+
+    public EdgeCacheService(SurrogatePurger purger,
+                            @Value("${edge.surrogate-key-header:Surrogate-Key}") String keyHeader,
+                            @Value("${edge.max-age-seconds:86400}") long maxAgeSeconds) {
+        this.purger = purger;
+        this.keyHeader = keyHeader;
+        // Browsers always revalidate (the ETag makes that cheap); shared caches keep the response
+        // until it is purged, but only when purges actually reach them
+        this.cacheControl = purger.isRemote()
+                ? "public, max-age=0, must-revalidate, s-maxage=" + maxAgeSeconds
+                : "no-cache";
+    }
+
+    public String getKeyHeader() {
+        return keyHeader;
+    }
+
+    public String getCacheControl() {
+        return cacheControl;
+    }
+
+    /**
+     * Queues the keys for purging; callers run after commit, so the edge refetches committed data.
+     */
+    public void purge(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        pending.addAll(keys);
+        // At most one drain waits behind the running one and picks up every pending key; further
+        // submissions are discarded
+        purgeExecutor.execute(this::drain);
+    }
+
+    private void drain() {
+        List<String> keys = new ArrayList<>(pending);
+        if (keys.isEmpty()) {
+            return;
+        }
+        pending.removeAll(keys);
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                purger.purge(keys);
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("Surrogate purge of {} failed (attempt {}/{}): {}", keys, attempt, MAX_ATTEMPTS, e.getMessage());
+                if (attempt < MAX_ATTEMPTS) {
+                    sleepBeforeRetry(attempt);
+                }
+            }
+        }
+        logger.error("Giving up purging {}; the edge serves them until s-maxage expires", keys);
+    }
+
+    private static void sleepBeforeRetry(int attempt) {
+        try {
+            Thread.sleep(500L * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        purgeExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,26 @@
+package com.iwacu250.landplots.service;
+
+/**
+ * Output of the streaming export endpoints: one JSON object per line, or RFC 4180 CSV with a
+ * header row.
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv;charset=UTF-8", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,192 @@
+package com.iwacu250.landplots.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iwacu250.landplots.exception.TooManyExportsException;
+import com.iwacu250.landplots.repository.ExportRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Streams plots, houses and inquiries to the client as NDJSON or CSV, one row at a time
+ * straight from the database cursor. Nothing is collected in memory, so an export costs the
+ * same heap for ten rows or a million; it holds one pooled connection while it runs, so only a
+ * few exports may run at once and further requests are turned away.
+ */
+@Service
+public class ExportService {
+
+    // Rows written between flushes, so the client sees progress on long exports
+    private static final int FLUSH_EVERY = 500;
+
+    private final ExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore exportSlots;
+    private final int maxConcurrent;
+
+    public ExportService(ExportRepository exportRepository, ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${export.max-concurrent:2}") int maxConcurrent) {
+        this.exportRepository = exportRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.exportSlots = new Semaphore(maxConcurrent);
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public ResponseEntity<StreamingResponseBody> exportPlots(ExportFormat format) {
+        return download("plots", format, stream(format, exportRepository::streamPlots));
+    }
+
+    public ResponseEntity<StreamingResponseBody> exportHouses(ExportFormat format) {
+        return download("houses", format, stream(format, exportRepository::streamHouses));
+    }
+
+    public ResponseEntity<StreamingResponseBody> exportInquiries(ExportFormat format, String status) {
+        String filter = status != null && !status.isEmpty() ? status : null;
+        return download("inquiries", format,
+                stream(format, extractor -> exportRepository.streamInquiries(filter, extractor)));
+    }
+
+    // An attachment named e.g. plots-2024-05-01.csv; no Content-Length, the body is chunked
+    private static ResponseEntity<StreamingResponseBody> download(String name, ExportFormat format,
+                                                                  StreamingResponseBody body) {
+        String filename = name + "-" + LocalDate.now() + "." + format.getExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    // The body runs on the async request thread; the transaction keeps the cursor open. The slot
+    // is taken before the response is committed, so a busy server answers 429 instead of a stalled download
+    private StreamingResponseBody stream(ExportFormat format, Function<ResultSetExtractor<Long>, Long> query) {
+        if (!exportSlots.tryAcquire()) {
+            throw new TooManyExportsException(maxConcurrent);
+        }
+        return out -> {
+            try {
+                readOnlyTransaction.executeWithoutResult(status ->
+                        query.apply(rs -> format == ExportFormat.CSV ? writeCsv(rs, out) : writeNdjson(rs, out)));
+            } finally {
+                exportSlots.release();
+            }
+        };
+    }
+
+    private long writeNdjson(ResultSet rs, OutputStream out) throws SQLException {
+        try {
+            JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+            // Records are separated by the newline alone, not Jackson's default space before it
+            json.setRootValueSeparator(null);
+            String[] columns = columns(rs);
+            long rows = 0;
+            while (rs.next()) {
+                json.writeStartObject();
+                for (int i = 0; i < columns.length; i++) {
+                    json.writeFieldName(columns[i]);
+                    json.writeObject(value(rs, i + 1));
+                }
+                json.writeEndObject();
+                json.writeRaw('\n');
+                if (++rows % FLUSH_EVERY == 0) {
+                    json.flush();
+                }
+            }
+            json.flush();
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long writeCsv(ResultSet rs, OutputStream out) throws SQLException {
+        try {
+            Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            String[] columns = columns(rs);
+            writeCsvRow(csv, columns);
+            String[] values = new String[columns.length];
+            long rows = 0;
+            while (rs.next()) {
+                for (int i = 0; i < columns.length; i++) {
+                    Object value = value(rs, i + 1);
+                    values[i] = value instanceof String text ? neutralize(text) : value != null ? value.toString() : null;
+                }
+                writeCsvRow(csv, values);
+                if (++rows % FLUSH_EVERY == 0) {
+                    csv.flush();
+                }
+            }
+            csv.flush();
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String[] columns(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        String[] columns = new String[metaData.getColumnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = metaData.getColumnLabel(i + 1);
+        }
+        return columns;
+    }
+
+    // Timestamps as LocalDateTime, written as ISO-8601 like the API's DTOs
+    private static Object value(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : value;
+    }
+
+    private static void writeCsvRow(Writer csv, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                csv.write(',');
+            }
+            if (values[i] != null) {
+                csv.write(csvField(values[i]));
+            }
+        }
+        csv.write("\r\n");
+    }
+
+    // Text cells starting with these are run as formulas by spreadsheet apps; numbers are left alone
+    private static String neutralize(String text) {
+        return !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0 ? "'" + text : text;
+    }
+
+    // RFC 4180: quote fields holding a separator, quote or line break, doubling inner quotes
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,197 @@
+package com.iwacu250.landplots.service;
+
+import com.iwacu250.landplots.dto.HouseFeatureDTO;
+import com.iwacu250.landplots.search.PageCountService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Feature name to id resolution for listing writes. Names seen before are answered from memory;
+ * the rest are looked up together in one {@code IN} query, and names that do not exist yet are
+ * inserted in one {@code INSERT ... ON CONFLICT DO NOTHING}, so two admins adding the same new
+ * feature at once both end up with the one row instead of a unique-key error.
+ * <p>
+ * The map only ever holds committed rows. Renaming or deleting a feature clears it after commit
+ * and bumps its generation; a lookup that started before that does not put its result back.
+ */
+@Service
+public class FeatureDictionaryService {
+
+    private static final String SELECT_BY_NAME = "SELECT id, name FROM features WHERE name IN (:names)";
+
+    private final Map<String, Long> ids = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final ReferenceCacheService referenceCacheService;
+    private final PageCountService pageCountService;
+    private final ContentVersionService contentVersions;
+    private final int maxEntries;
+
+    public FeatureDictionaryService(NamedParameterJdbcTemplate namedJdbcTemplate,
+                                    ReferenceCacheService referenceCacheService,
+                                    PageCountService pageCountService,
+                                    ContentVersionService contentVersions,
+                                    @Value("${features.dictionary.max-entries:10000}") int maxEntries) {
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.jdbcTemplate = namedJdbcTemplate.getJdbcTemplate();
+        this.referenceCacheService = referenceCacheService;
+        this.pageCountService = pageCountService;
+        this.contentVersions = contentVersions;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * The id of each feature name, creating the missing ones; in the order given, blank names
+     * skipped. Must run in the transaction that links the features.
+     */
+    public Map<String, Long> resolveNames(Collection<String> names) {
+        Map<String, HouseFeatureDTO> wanted = new LinkedHashMap<>();
+        for (String name : names) {
+            if (name != null && !name.isBlank()) {
+                wanted.putIfAbsent(name.trim(), null);
+            }
+        }
+        return resolve(wanted);
+    }
+
+    /**
+     * Like {@link #resolveNames}; a feature that has to be created gets the DTO's description
+     * and icon.
+     */
+    public Map<String, Long> resolveFeatures(Collection<HouseFeatureDTO> features) {
+        Map<String, HouseFeatureDTO> wanted = new LinkedHashMap<>();
+        for (HouseFeatureDTO feature : features) {
+            if (feature != null && feature.getName() != null && !feature.getName().isBlank()) {
+                wanted.putIfAbsent(feature.getName().trim(), feature);
+            }
+        }
+        return resolve(wanted);
+    }
+
+    /**
+     * Forgets every resolution once the current transaction commits; for renames and deletes.
+     */
+    public void invalidateAfterCommit() {
+        afterCommit(this::forget);
+    }
+
+    private synchronized void forget() {
+        generation.incrementAndGet();
+        ids.clear();
+    }
+
+    private Map<String, Long> resolve(Map<String, HouseFeatureDTO> wanted) {
+        if (wanted.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        long startedAt = generation.get();
+        Map<String, Long> resolved = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String name : wanted.keySet()) {
+            Long id = ids.get(name);
+            if (id != null) {
+                resolved.put(name, id);
+            } else {
+                missing.add(name);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<String, Long> found = select(missing);
+            remember(found, startedAt);
+            resolved.putAll(found);
+            missing.removeAll(found.keySet());
+        }
+        if (!missing.isEmpty()) {
+            Map<String, Long> inserted = insert(missing, wanted);
+            resolved.putAll(inserted);
+            missing.removeAll(inserted.keySet());
+            // Rows another transaction inserted between our select and insert
+            if (!missing.isEmpty()) {
+                resolved.putAll(select(missing));
+            }
+            // Only visible to others, and safe to keep, once this transaction commits
+            afterCommit(() -> remember(inserted, startedAt));
+            referenceCacheService.evictFeatureQueriesAfterCommit();
+            pageCountService.invalidateAfterCommit(PageCountService.FEATURES);
+            contentVersions.changedAfterCommit(ContentVersionService.FEATURES);
+        }
+
+        Map<String, Long> ordered = new LinkedHashMap<>();
+        for (String name : wanted.keySet()) {
+            Long id = resolved.get(name);
+            if (id != null) {
+                ordered.put(name, id);
+            }
+        }
+        return ordered;
+    }
+
+    private Map<String, Long> select(List<String> names) {
+        Map<String, Long> found = new HashMap<>();
+        namedJdbcTemplate.query(SELECT_BY_NAME, Map.of("names", names),
+                rs -> {
+                    found.put(rs.getString("name"), rs.getLong("id"));
+                });
+        return found;
+    }
+
+    // Each id takes a fresh value of the pooled features_seq, so it never falls in a block
+    // Hibernate handed out; features are created rarely enough for the skipped values not to matter
+    private Map<String, Long> insert(List<String> names, Map<String, HouseFeatureDTO> wanted) {
+        StringBuilder sql = new StringBuilder("INSERT INTO features (id, name, description, icon) VALUES ");
+        List<Object> args = new ArrayList<>(names.size() * 3);
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            HouseFeatureDTO details = wanted.get(name);
+            sql.append(i > 0 ? ", " : "").append("(nextval('features_seq'), ?, ?, ?)");
+            args.add(name);
+            args.add(details != null ? details.getDescription() : null);
+            args.add(details != null ? details.getIcon() : null);
+        }
+        sql.append(" ON CONFLICT (name) DO NOTHING RETURNING id, name");
+        Map<String, Long> inserted = new HashMap<>();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            inserted.put(rs.getString("name"), rs.getLong("id"));
+        }, args.toArray());
+        return inserted;
+    }
+
+    private synchronized void remember(Map<String, Long> resolutions, long startedAt) {
+        if (generation.get() != startedAt) {
+            return;
+        }
+        if (ids.size() + resolutions.size() > maxEntries) {
+            ids.clear();
+        }
+        ids.putAll(resolutions);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
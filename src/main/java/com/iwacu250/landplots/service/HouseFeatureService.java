@@ -5,14 +5,32 @@ import com.iwacu250.landplots.entity.HouseFeature;
 import com.iwacu250.landplots.exception.ResourceAlreadyExistsException;
 import com.iwacu250.landplots.exception.ResourceNotFoundException;
 import com.iwacu250.landplots.mapper.HouseFeatureMapper;
+import com.iwacu250.landplots.repository.HouseFeatureJoinRepository;
 import com.iwacu250.landplots.repository.HouseFeatureRepository;
+import com.iwacu250.landplots.repository.PlotRepository;
+import com.iwacu250.landplots.repository.RowEstimateRepository;
+import com.iwacu250.landplots.repository.SliceRepository;
+import com.iwacu250.landplots.search.CountMode;
+import com.iwacu250.landplots.search.ListingDetailCache;
+import com.iwacu250.landplots.search.ListingDocument;
+import com.iwacu250.landplots.search.ListingDocumentLoader;
+import com.iwacu250.landplots.search.ListingIndexService;
+import com.iwacu250.landplots.search.ListingType;
+import com.iwacu250.landplots.search.PageCountService;
+import com.iwacu250.landplots.search.SearchCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.lang.NonNull;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
 
 
 @Service
@@ -20,10 +38,46 @@ import org.springframework.lang.NonNull;
 public class HouseFeatureService {
 
     private final HouseFeatureRepository featureRepository;
+    private final SliceRepository sliceRepository;
+    private final RowEstimateRepository rowEstimateRepository;
+    private final PageCountService pageCountService;
+    private final ListingDetailCache detailCache;
+    private final ReferenceCacheService referenceCacheService;
+    private final ContentVersionService contentVersions;
+    private final FeatureDictionaryService featureDictionary;
+    private final PlotRepository plotRepository;
+    private final HouseFeatureJoinRepository houseFeatureJoinRepository;
+    private final ListingDocumentLoader documentLoader;
+    private final ListingIndexService listingIndexService;
+    private final SearchCacheService searchCacheService;
 
     @Autowired
-    public HouseFeatureService(HouseFeatureRepository featureRepository) {
+    public HouseFeatureService(HouseFeatureRepository featureRepository,
+                               SliceRepository sliceRepository,
+                               RowEstimateRepository rowEstimateRepository,
+                               PageCountService pageCountService,
+                               ListingDetailCache detailCache,
+                               ReferenceCacheService referenceCacheService,
+                               ContentVersionService contentVersions,
+                               FeatureDictionaryService featureDictionary,
+                               PlotRepository plotRepository,
+                               HouseFeatureJoinRepository houseFeatureJoinRepository,
+                               ListingDocumentLoader documentLoader,
+                               ListingIndexService listingIndexService,
+                               SearchCacheService searchCacheService) {
         this.featureRepository = featureRepository;
+        this.sliceRepository = sliceRepository;
+        this.rowEstimateRepository = rowEstimateRepository;
+        this.pageCountService = pageCountService;
+        this.detailCache = detailCache;
+        this.referenceCacheService = referenceCacheService;
+        this.contentVersions = contentVersions;
+        this.featureDictionary = featureDictionary;
+        this.plotRepository = plotRepository;
+        this.houseFeatureJoinRepository = houseFeatureJoinRepository;
+        this.documentLoader = documentLoader;
+        this.listingIndexService = listingIndexService;
+        this.searchCacheService = searchCacheService;
     }
 
     public HouseFeatureDTO createFeature(HouseFeatureDTO featureDTO) {
@@ -37,6 +91,8 @@ public class HouseFeatureService {
             throw new IllegalArgumentException("Failed to map HouseFeatureDTO to entity");
         }
         HouseFeature savedFeature = featureRepository.save(feature);
+        pageCountService.invalidateAfterCommit(PageCountService.FEATURES);
+        contentVersions.changedAfterCommit(ContentVersionService.FEATURES);
         return HouseFeatureMapper.toDto(savedFeature);
     }
 
@@ -54,8 +110,18 @@ public class HouseFeatureService {
             throw new ResourceAlreadyExistsException("Another feature with name " + featureDTO.getName() + " already exists");
         }
         
+        List<Long> plotIds = plotRepository.findIdsByFeatureId(id);
+        List<Long> houseIds = houseFeatureJoinRepository.findHouseIdsByFeatureId(id);
         HouseFeatureMapper.updateEntityFromDto(featureDTO, existingFeature);
         HouseFeature updatedFeature = featureRepository.save(existingFeature);
+        // Cached house details embed the feature's name, description and icon, plot details its
+        // name; both share the features rows
+        detailCache.evictAllAfterCommit(ListingType.HOUSE);
+        detailCache.evictAllAfterCommit(ListingType.PLOT);
+        referenceCacheService.evictFeatureAfterCommit(id);
+        featureDictionary.invalidateAfterCommit();
+        refreshListingsAfterCommit(plotIds, houseIds);
+        contentVersions.changedAfterCommit(ContentVersionService.FEATURES);
         return HouseFeatureMapper.toDto(updatedFeature);
     }
 
@@ -71,11 +137,14 @@ public class HouseFeatureService {
     }
 
     @Transactional(readOnly = true)
-    public Page<HouseFeatureDTO> getAllFeatures(Pageable pageable) {
+    public Slice<HouseFeatureDTO> getAllFeatures(Pageable pageable, CountMode countMode) {
         // If pageable is null, use default pagination (first page with 10 items)
         Pageable pageRequest = pageable != null ? pageable : PageRequest.of(0, 10);
-        return featureRepository.findAll(pageRequest)
+        Slice<HouseFeatureDTO> features = sliceRepository.findSlice(HouseFeature.class, null, pageRequest)
             .map(HouseFeatureMapper::toDto);
+        return pageCountService.complete(features, countMode, PageCountService.FEATURES, "",
+            featureRepository::count,
+            () -> rowEstimateRepository.estimate("FROM features f", Map.of()));
     }
 
     @Transactional(readOnly = true)
@@ -89,6 +158,45 @@ public class HouseFeatureService {
         if (!featureRepository.existsById(id)) {
             throw new ResourceNotFoundException("Feature not found with id: " + id);
         }
+        List<Long> plotIds = plotRepository.findIdsByFeatureId(id);
+        List<Long> houseIds = houseFeatureJoinRepository.findHouseIdsByFeatureId(id);
         featureRepository.deleteById(id);
+        pageCountService.invalidateAfterCommit(PageCountService.FEATURES);
+        detailCache.evictAllAfterCommit(ListingType.HOUSE);
+        detailCache.evictAllAfterCommit(ListingType.PLOT);
+        referenceCacheService.evictFeatureAfterCommit(id);
+        featureDictionary.invalidateAfterCommit();
+        refreshListingsAfterCommit(plotIds, houseIds);
+        contentVersions.changedAfterCommit(ContentVersionService.FEATURES);
+    }
+
+    // The listings that have the feature change without an event of their own: once committed
+    // (and after the Feature cache entry is evicted), reload their index documents and drop the
+    // cached searches and totals that may still name the old feature
+    private void refreshListingsAfterCommit(List<Long> plotIds, List<Long> houseIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refreshListings(plotIds, houseIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refreshListings(plotIds, houseIds);
+            }
+        });
+    }
+
+    private void refreshListings(List<Long> plotIds, List<Long> houseIds) {
+        refreshListings(ListingType.PLOT, plotIds);
+        refreshListings(ListingType.HOUSE, houseIds);
+    }
+
+    private void refreshListings(ListingType listingType, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<ListingDocument> documents = documentLoader.load(listingType, ids);
+        listingIndexService.refresh(listingType, ids, documents);
+        searchCacheService.refresh(listingType, ids, documents);
     }
 }
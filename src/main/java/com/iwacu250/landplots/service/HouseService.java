@@ -1,25 +1,53 @@
 package com.iwacu250.landplots.service;
 
+import com.iwacu250.landplots.dto.CursorPage;
+import com.iwacu250.landplots.dto.FacetCountsDTO;
 import com.iwacu250.landplots.dto.HouseDTO;
+import com.iwacu250.landplots.dto.HouseFeatureDTO;
 import com.iwacu250.landplots.dto.ImageDTO;
 import com.iwacu250.landplots.entity.House;
-import com.iwacu250.landplots.entity.HouseFeature;
-import com.iwacu250.landplots.entity.HouseFeatureJoin;
 import com.iwacu250.landplots.entity.HouseImage;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 import com.iwacu250.landplots.entity.PropertyStatus;
 import com.iwacu250.landplots.entity.PropertyType;
+import com.iwacu250.landplots.exception.InvalidCursorException;
 import com.iwacu250.landplots.exception.ResourceNotFoundException;
 import com.iwacu250.landplots.mapper.HouseMapper;
-import com.iwacu250.landplots.repository.HouseFeatureRepository;
+import com.iwacu250.landplots.repository.HouseFeatureLinkRepository;
 import com.iwacu250.landplots.repository.HouseRepository;
 import com.iwacu250.landplots.repository.HouseImageRepository;
+import com.iwacu250.landplots.repository.ListingCriteria;
+import com.iwacu250.landplots.repository.ListingFacetRepository;
+import com.iwacu250.landplots.repository.ListingKeysetRepository;
+import com.iwacu250.landplots.repository.ListingProjectionRepository;
+import com.iwacu250.landplots.repository.RowEstimateRepository;
+import com.iwacu250.landplots.repository.SliceRepository;
+import com.iwacu250.landplots.search.CountMode;
+import com.iwacu250.landplots.search.FieldSelection;
+import com.iwacu250.landplots.search.KeysetCursor;
+import com.iwacu250.landplots.search.ListingChangedEvent;
+import com.iwacu250.landplots.search.ListingDocument;
+import com.iwacu250.landplots.search.ListingIndexService;
+import com.iwacu250.landplots.search.ListingQuery;
+import com.iwacu250.landplots.search.ListingType;
+import com.iwacu250.landplots.search.PageCountService;
+import com.iwacu250.landplots.search.SearchCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -32,20 +60,58 @@ import java.time.LocalDateTime;
 @Transactional
 public class HouseService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final HouseRepository houseRepository;
-    private final HouseFeatureRepository featureRepository;
     private final HouseImageRepository houseImageRepository;
     private final FileStorageService fileStorageService;
+    private final MediaCleanupService mediaCleanupService;
+    private final ListingIndexService listingIndexService;
+    private final ListingKeysetRepository keysetRepository;
+    private final ListingFacetRepository facetRepository;
+    private final SearchCacheService searchCacheService;
+    private final PageCountService pageCountService;
+    private final SliceRepository sliceRepository;
+    private final ListingProjectionRepository projectionRepository;
+    private final RowEstimateRepository rowEstimateRepository;
+    private final HouseFeatureLinkRepository featureLinkRepository;
+    private final FeatureDictionaryService featureDictionary;
+    private final ContentVersionService contentVersions;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public HouseService(HouseRepository houseRepository, 
-                       HouseFeatureRepository featureRepository,
                        HouseImageRepository houseImageRepository,
-                       FileStorageService fileStorageService) {
+                       FileStorageService fileStorageService,
+                       MediaCleanupService mediaCleanupService,
+                       ListingIndexService listingIndexService,
+                       ListingKeysetRepository keysetRepository,
+                       ListingFacetRepository facetRepository,
+                       SearchCacheService searchCacheService,
+                       PageCountService pageCountService,
+                       SliceRepository sliceRepository,
+                       ListingProjectionRepository projectionRepository,
+                       RowEstimateRepository rowEstimateRepository,
+                       HouseFeatureLinkRepository featureLinkRepository,
+                       FeatureDictionaryService featureDictionary,
+                       ContentVersionService contentVersions,
+                       ApplicationEventPublisher eventPublisher) {
         this.houseRepository = houseRepository;
-        this.featureRepository = featureRepository;
         this.houseImageRepository = houseImageRepository;
         this.fileStorageService = fileStorageService;
+        this.mediaCleanupService = mediaCleanupService;
+        this.listingIndexService = listingIndexService;
+        this.keysetRepository = keysetRepository;
+        this.facetRepository = facetRepository;
+        this.searchCacheService = searchCacheService;
+        this.pageCountService = pageCountService;
+        this.sliceRepository = sliceRepository;
+        this.projectionRepository = projectionRepository;
+        this.rowEstimateRepository = rowEstimateRepository;
+        this.featureLinkRepository = featureLinkRepository;
+        this.featureDictionary = featureDictionary;
+        this.contentVersions = contentVersions;
+        this.eventPublisher = eventPublisher;
     }
 
     public HouseDTO createHouse(HouseDTO houseDTO) {
@@ -63,6 +129,7 @@ public class HouseService {
         try {
             House savedHouse = houseRepository.save(house);
             System.out.println("Saved house: " + savedHouse);
+            publishChanged(savedHouse);
             return HouseMapper.toDto(savedHouse);
         } catch (Exception e) {
             System.err.println("Error saving house: " + e.getMessage());
@@ -76,8 +143,8 @@ public class HouseService {
             throw new IllegalArgumentException("House ID cannot be null");
         }
         
-        // Load the existing house with its features in a single query
-        House existingHouse = houseRepository.findByIdWithFeatures(id)
+        // The feature links are diffed in SQL below, so only the house row is loaded here
+        House existingHouse = houseRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("House not found with id: " + id));
         
         // Update basic fields using the mapper
@@ -85,90 +152,220 @@ public class HouseService {
         
         // Handle features if they are provided in the DTO
         if (houseDTO.getFeatures() != null) {
-            // First, collect all features to remove
-            Set<HouseFeature> featuresToRemove = new HashSet<>();
-            for (HouseFeatureJoin join : existingHouse.getHouseFeatures().values()) {
-                boolean existsInNewList = houseDTO.getFeatures().stream()
-                    .anyMatch(dto -> dto.getName().equals(join.getFeature().getName()));
-                
-                if (!existsInNewList) {
-                    featuresToRemove.add(join.getFeature());
-                }
-            }
-            
-            // Remove features not in the new list
-            featuresToRemove.forEach(existingHouse::removeFeature);
-            
-            // Then add or update features from the DTO
-            for (com.iwacu250.landplots.dto.HouseFeatureDTO featureDto : houseDTO.getFeatures()) {
-                boolean exists = existingHouse.getHouseFeatures().values().stream()
-                    .anyMatch(join -> join.getFeature().getName().equals(featureDto.getName()));
-                
-                if (!exists) {
-                    // Try to find an existing feature with the same name
-                    HouseFeature feature = featureRepository.findByName(featureDto.getName())
-                        .orElseGet(() -> {
-                            // Create a new feature if it doesn't exist
-                            HouseFeature newFeature = new HouseFeature();
-                            newFeature.setName(featureDto.getName());
-                            newFeature.setDescription(featureDto.getDescription());
-                            newFeature.setIcon(featureDto.getIcon());
-                            return featureRepository.save(newFeature);
-                        });
-                    
-                    // Add the feature to the house
-                    existingHouse.addFeature(feature);
-                }
-            }
+            updateFeatureLinks(id, houseDTO.getFeatures());
         }
         
         // Save the updated house
         House updatedHouse = houseRepository.save(existingHouse);
+        publishChanged(updatedHouse);
         return HouseMapper.toDto(updatedHouse);
     }
 
+    // Diffs the house's linked features against the requested ones by name, then deletes the
+    // dropped links in one statement and inserts the new ones in another
+    private void updateFeatureLinks(Long houseId, Collection<HouseFeatureDTO> requested) {
+        Map<Long, String> linked = featureLinkRepository.findLinks(houseId);
+        Set<String> requestedNames = new HashSet<>();
+        for (HouseFeatureDTO feature : requested) {
+            if (feature != null && feature.getName() != null && !feature.getName().isBlank()) {
+                requestedNames.add(feature.getName().trim());
+            }
+        }
+
+        Set<Long> toRemove = new HashSet<>();
+        Set<String> keptNames = new HashSet<>();
+        linked.forEach((featureId, name) -> {
+            if (requestedNames.contains(name)) {
+                keptNames.add(name);
+            } else {
+                toRemove.add(featureId);
+            }
+        });
+        List<HouseFeatureDTO> toAdd = new ArrayList<>();
+        for (HouseFeatureDTO feature : requested) {
+            if (feature != null && feature.getName() != null && !keptNames.contains(feature.getName().trim())) {
+                toAdd.add(feature);
+            }
+        }
+
+        featureLinkRepository.delete(houseId, toRemove);
+        // Resolves (and creates missing) features in one go
+        featureLinkRepository.insert(houseId, featureDictionary.resolveFeatures(toAdd).values());
+    }
+
     @Transactional(readOnly = true)
     public HouseDTO getHouseById(Long id) {
-        House house = houseRepository.findById(id)
+        House house = houseRepository.findDetailedById(id)
             .orElseThrow(() -> new ResourceNotFoundException("House not found with id: " + id));
         return HouseMapper.toDto(house);
     }
 
     @Transactional(readOnly = true)
-    public Page<HouseDTO> getAllHouses(Pageable pageable) {
-        return houseRepository.findAll(pageable)
-            .map(HouseMapper::toDto);
+    public Slice<HouseDTO> getAllHouses(Pageable pageable, CountMode countMode, FieldSelection selection) {
+        ListingQuery filter = filterKey(null, null, null, null, null, null);
+        Slice<HouseDTO> houses;
+        if (pageable.isUnpaged()) {
+            houses = findAllHouses(pageable, selection);
+        } else {
+            Pageable sorted = withIndexedSort(pageable);
+            houses = searchCacheService.houses(cacheKey(filter, sorted, selection),
+                () -> findAllHouses(sorted, selection));
+        }
+        return pageCountService.complete(houses, countMode, PageCountService.HOUSES, filter,
+            houseRepository::count,
+            () -> rowEstimateRepository.estimateListings(filter.toBuilder().listingType(ListingType.HOUSE).build()));
+    }
+
+    private Slice<HouseDTO> findAllHouses(Pageable pageable, FieldSelection selection) {
+        Optional<Page<Long>> indexed = searchIndex(null, null, null, null, null, pageable);
+        if (indexed.isPresent()) {
+            return projectionRepository.housePage(indexed.get(), selection);
+        }
+        return projectionRepository.housePage(sliceRepository.findIdSlice(House.class, null, pageable), selection);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<HouseDTO> scrollHouses(String cursor, int size, String sortBy, String direction,
+                                             String location, Double minPrice, Double maxPrice,
+                                             Integer bedrooms, PropertyType type, PropertyStatus status) {
+        KeysetCursor after = (cursor != null && !cursor.isEmpty()) ? KeysetCursor.decode(cursor) : null;
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+
+        // A cursor always continues with the sort it was issued for
+        String sortField = after != null ? after.getSortBy() : sortBy;
+        boolean ascending = after != null ? after.isAscending() : direction.equalsIgnoreCase("asc");
+        if (!ListingKeysetRepository.supportsSort(sortField)) {
+            if (after != null) {
+                throw new InvalidCursorException(cursor);
+            }
+            sortField = "id";
+        }
+
+        ListingQuery query = ListingQuery.builder()
+            .location(location != null && !location.trim().isEmpty() ? location.trim() : null)
+            .minPrice(minPrice)
+            .maxPrice(maxPrice)
+            .bedrooms(bedrooms)
+            .propertyType(type)
+            .status(status)
+            .sortBy(sortField)
+            .ascending(ascending)
+            .size(pageSize)
+            .build();
+
+        // Fetch one extra row to know whether another page exists
+        List<House> rows = keysetRepository.findHouses(query, after, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<House> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            House last = pageRows.get(pageRows.size() - 1);
+            nextCursor = KeysetCursor.of(sortField, ascending,
+                ListingKeysetRepository.sortValue(last, sortField), last.getId()).encode();
+        }
+        List<HouseDTO> content = pageRows.stream().map(HouseMapper::toDto).collect(Collectors.toList());
+        return new CursorPage<>(content, pageSize, hasNext, nextCursor);
     }
 
     public void deleteHouse(Long id) {
-        if (!houseRepository.existsById(id)) {
+        // A fixed number of statements whatever the number of images; the files go after commit
+        List<String> files = houseImageRepository.findStoragePathsByHouseId(id);
+        houseImageRepository.deleteAllByHouseId(id);
+        featureLinkRepository.deleteAll(id);
+        if (houseRepository.deleteInBulk(id) == 0) {
             throw new ResourceNotFoundException("House not found with id: " + id);
         }
-        houseRepository.deleteById(id);
+        mediaCleanupService.deleteAfterCommit(files);
+        eventPublisher.publishEvent(ListingChangedEvent.deleted(ListingType.HOUSE, id));
     }
 
     @Transactional(readOnly = true)
-    public Page<HouseDTO> searchHouses(String location, Double minPrice, Double maxPrice, 
-                                     Integer bedrooms, PropertyType type, PropertyStatus status,
-                                     Pageable pageable) {
+    public Slice<HouseDTO> searchHouses(String location, Double minPrice, Double maxPrice, 
+                                      Integer bedrooms, PropertyType type, PropertyStatus status,
+                                      Pageable pageable, CountMode countMode, FieldSelection selection) {
         // Validate price range
         if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
             throw new IllegalArgumentException("Minimum price cannot be greater than maximum price");
         }
+        ListingQuery filter = filterKey(location, minPrice, maxPrice, bedrooms, type, status);
+        Slice<HouseDTO> houses;
+        if (pageable.isUnpaged()) {
+            houses = findHouses(location, minPrice, maxPrice, bedrooms, type, status, pageable, selection);
+        } else {
+            Pageable sorted = withIndexedSort(pageable);
+            houses = searchCacheService.houses(cacheKey(filter, sorted, selection),
+                () -> findHouses(location, minPrice, maxPrice, bedrooms, type, status, sorted, selection));
+        }
+        return pageCountService.complete(houses, countMode, PageCountService.HOUSES, filter,
+            () -> countHouses(location, minPrice, maxPrice, bedrooms, type, status),
+            () -> rowEstimateRepository.estimateListings(filter.toBuilder().listingType(ListingType.HOUSE).build()));
+    }
+
+    private Slice<HouseDTO> findHouses(String location, Double minPrice, Double maxPrice,
+                                      Integer bedrooms, PropertyType type, PropertyStatus status,
+                                      Pageable pageable, FieldSelection selection) {
+
+        // Location searches go through the ranked text index and are ordered by relevance
+        if (location != null && !location.trim().isEmpty()) {
+            Slice<Long> ids = houseRepository.searchHousesByText(
+                location.trim(),
+                minPrice,
+                maxPrice,
+                bedrooms,
+                type != null ? type.name() : null,
+                status != null ? status.name() : null,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+            );
+            return projectionRepository.housePage(ids, selection);
+        }
         
-        // Convert empty string to null for location
-        String locationParam = (location != null && location.trim().isEmpty()) ? null : location;
+        Optional<Page<Long>> indexed = searchIndex(minPrice, maxPrice, bedrooms, type, status, pageable);
+        if (indexed.isPresent()) {
+            return projectionRepository.housePage(indexed.get(), selection);
+        }
         
-        // Execute the search with all parameters
-        return houseRepository.searchHouses(
-            locationParam,
-            minPrice,
-            maxPrice,
-            bedrooms,
-            type,
-            status,
-            pageable
-        ).map(HouseMapper::toDto);
+        // Only the active filters become predicates; no COUNT here
+        ListingQuery query = ListingQuery.builder()
+            .minPrice(minPrice)
+            .maxPrice(maxPrice)
+            .bedrooms(bedrooms)
+            .propertyType(type)
+            .status(status)
+            .build();
+        Slice<Long> ids = sliceRepository.findIdSlice(House.class, ListingCriteria.<House>matching(query), pageable);
+        return projectionRepository.housePage(ids, selection);
+    }
+
+    private long countHouses(String location, Double minPrice, Double maxPrice,
+                             Integer bedrooms, PropertyType type, PropertyStatus status) {
+        if (location != null && !location.trim().isEmpty()) {
+            return houseRepository.countHousesByText(location.trim(), minPrice, maxPrice, bedrooms,
+                type != null ? type.name() : null, status != null ? status.name() : null);
+        }
+        ListingQuery query = ListingQuery.builder()
+            .minPrice(minPrice)
+            .maxPrice(maxPrice)
+            .bedrooms(bedrooms)
+            .propertyType(type)
+            .status(status)
+            .build();
+        return houseRepository.count(ListingCriteria.<House>matching(query));
+    }
+
+    @Transactional(readOnly = true)
+    public FacetCountsDTO getHouseFacets(String location, Double minPrice, Double maxPrice,
+                                         Integer bedrooms, PropertyType type, PropertyStatus status) {
+        ListingQuery query = ListingQuery.builder()
+            .location(location != null && !location.trim().isEmpty() ? location.trim() : null)
+            .minPrice(minPrice)
+            .maxPrice(maxPrice)
+            .bedrooms(bedrooms)
+            .propertyType(type)
+            .status(status)
+            .build();
+        return listingIndexService.houseFacets(query)
+            .orElseGet(() -> facetRepository.houseFacets(query));
     }
 
     public ImageDTO uploadImage(Long houseId, MultipartFile file, Integer displayOrder, Boolean isFeatured) throws IOException {
@@ -209,6 +406,7 @@ public class HouseService {
                 houseRepository.save(house);
                 System.out.println("HouseService: Updated house featured_image_url: " + savedImage.getImageUrl());
             }
+            publishChanged(house);
             
             // Convert to ImageDTO for response
             ImageDTO imageDTO = new ImageDTO();
@@ -239,6 +437,7 @@ public class HouseService {
         // Update house with video URL
         house.setVideoUrl(uploadResponse.getUrl());
         houseRepository.save(house);
+        publishChanged(house);
 
         return uploadResponse.getUrl();
     }
@@ -263,9 +462,9 @@ public class HouseService {
         House house = houseImage.getHouse();
         String deletedImageUrl = houseImage.getImageUrl();
 
-        // Delete file from storage
+        // Delete file from storage once the row is gone
         if (houseImage.getCloudinaryPublicId() != null) {
-            fileStorageService.deleteFile(houseImage.getCloudinaryPublicId());
+            mediaCleanupService.deleteAfterCommit(List.of(houseImage.getCloudinaryPublicId()));
         }
 
         // Delete image record from database
@@ -282,6 +481,7 @@ public class HouseService {
             houseRepository.save(house);
             System.out.println("HouseService: Updated featured image after deletion");
         }
+        publishChanged(house);
     }
 
     public HouseDTO updateHouseStatus(Long id, String status) {
@@ -292,10 +492,72 @@ public class HouseService {
             PropertyStatus newStatus = PropertyStatus.valueOf(status.toUpperCase());
             house.setStatus(newStatus);
             House updatedHouse = houseRepository.save(house);
+            publishChanged(updatedHouse);
             return HouseMapper.toDto(updatedHouse);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid status value: " + status);
         }
     }
 
+    // Client sorts are limited to indexed columns, with id as the tie-breaker for stable pages
+    private Pageable withIndexedSort(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+            ListingCriteria.sanitize(pageable.getSort()));
+    }
+
+    // Normalized search parameters; they alone key the cached totals
+    private ListingQuery filterKey(String location, Double minPrice, Double maxPrice, Integer bedrooms,
+                                   PropertyType type, PropertyStatus status) {
+        boolean hasLocation = location != null && !location.trim().isEmpty();
+        return ListingQuery.builder()
+            .location(hasLocation ? location.trim().toLowerCase(Locale.ROOT) : null)
+            .minPrice(minPrice)
+            .maxPrice(maxPrice)
+            .bedrooms(bedrooms)
+            .propertyType(type)
+            .status(status)
+            .build();
+    }
+
+    // Result cache key: the filter plus the page and fields; location searches ignore the sort
+    private ListingQuery cacheKey(ListingQuery filter, Pageable pageable, FieldSelection selection) {
+        return filter.toBuilder()
+            .sortBy(filter.getLocation() != null ? "relevance" : pageable.getSort().toString())
+            .page(pageable.getPageNumber())
+            .size(pageable.getPageSize())
+            .selection(selection)
+            .build();
+    }
+
+    // Answers the page from the in-memory index when it is loaded and supports the requested sort
+    private Optional<Page<Long>> searchIndex(Double minPrice, Double maxPrice, Integer bedrooms,
+                                             PropertyType type, PropertyStatus status, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return Optional.empty();
+        }
+        // The index always breaks ties on id, so only the leading order matters
+        Sort.Order order = pageable.getSort().isSorted()
+            ? pageable.getSort().iterator().next()
+            : Sort.Order.asc("id");
+        ListingQuery query = ListingQuery.builder()
+            .minPrice(minPrice)
+            .maxPrice(maxPrice)
+            .bedrooms(bedrooms)
+            .propertyType(type)
+            .status(status)
+            .sortBy(order.getProperty())
+            .ascending(order.isAscending())
+            .page(pageable.getPageNumber())
+            .size(pageable.getPageSize())
+            .build();
+        return listingIndexService.searchHouses(query);
+    }
+
+    private void publishChanged(House house) {
+        // updatedAt is set by @PreUpdate, which only runs when the change is flushed; without the
+        // flush the document would carry the previous value
+        houseRepository.flush();
+        eventPublisher.publishEvent(ListingChangedEvent.upserted(ListingDocument.fromHouse(house)));
+    }
+
 }
@@ -0,0 +1,45 @@
+package com.iwacu250.landplots.service;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestClient;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Sends one purge request per batch, with the keys space-separated in a header: Varnish xkey
+ * ({@code PURGE} with {@code xkey}), Fastly-style endpoints and nginx purge locations all take
+ * this form.
+ */
+public class HttpSurrogatePurger implements SurrogatePurger {
+
+    private final RestClient restClient;
+    private final String url;
+    private final HttpMethod method;
+    private final String keyHeader;
+    private final String token;
+
+    public HttpSurrogatePurger(String url, String method, String keyHeader, String token) {
+        this.restClient = RestClient.create();
+        this.url = url;
+        this.method = HttpMethod.valueOf(method.toUpperCase(Locale.ROOT));
+        this.keyHeader = keyHeader;
+        this.token = token;
+    }
+
+    @Override
+    public void purge(Collection<String> keys) {
+        RestClient.RequestBodySpec request = restClient.method(method)
+                .uri(url)
+                .header(keyHeader, String.join(" ", keys));
+        if (token != null && !token.isBlank()) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        request.retrieve().toBodilessEntity();
+    }
+
+    @Override
+    public boolean isRemote() {
+        return true;
+    }
+}
@@ -6,14 +6,21 @@ import com.iwacu250.landplots.entity.Plot;
 import com.iwacu250.landplots.exception.ResourceNotFoundException;
 import com.iwacu250.landplots.repository.InquiryRepository;
 import com.iwacu250.landplots.repository.PlotRepository;
+import com.iwacu250.landplots.repository.RowEstimateRepository;
+import com.iwacu250.landplots.repository.SliceRepository;
+import com.iwacu250.landplots.search.CountMode;
+import com.iwacu250.landplots.search.PageCountService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+
 @Service
 public class InquiryService {
 
@@ -23,6 +30,15 @@ public class InquiryService {
     @Autowired
     private PlotRepository plotRepository;
 
+    @Autowired
+    private SliceRepository sliceRepository;
+
+    @Autowired
+    private RowEstimateRepository rowEstimateRepository;
+
+    @Autowired
+    private PageCountService pageCountService;
+
     @Transactional
     public Inquiry createInquiry(InquiryDTO inquiryDTO) {
         Inquiry inquiry = new Inquiry();
@@ -40,18 +56,26 @@ public class InquiryService {
             inquiry.setPlot(plot);
         }
 
-        return inquiryRepository.save(inquiry);
+        Inquiry saved = inquiryRepository.save(inquiry);
+        pageCountService.invalidateAfterCommit(PageCountService.INQUIRIES);
+        return saved;
     }
 
     @Transactional(readOnly = true)
-    public Page<Inquiry> getAllInquiries(int page, int size, String status) {
+    public Slice<Inquiry> getAllInquiries(int page, int size, String status, CountMode countMode) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        
-        if (status != null && !status.isEmpty()) {
-            return inquiryRepository.findByStatus(status, pageable);
-        }
-        
-        return inquiryRepository.findAll(pageable);
+        boolean filtered = status != null && !status.isEmpty();
+        Specification<Inquiry> byStatus = filtered
+                ? (root, query, cb) -> cb.equal(root.get("status"), status)
+                : null;
+
+        Slice<Inquiry> inquiries = sliceRepository.findSlice(Inquiry.class, byStatus, pageable);
+        return pageCountService.complete(inquiries, countMode, PageCountService.INQUIRIES,
+                filtered ? status : "",
+                () -> filtered ? inquiryRepository.countByStatus(status) : inquiryRepository.count(),
+                () -> filtered
+                        ? rowEstimateRepository.estimate("FROM inquiries i WHERE i.status = :status", Map.of("status", status))
+                        : rowEstimateRepository.estimate("FROM inquiries i", Map.of()));
     }
 
     @Transactional(readOnly = true)
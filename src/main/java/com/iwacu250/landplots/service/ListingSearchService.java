@@ -0,0 +1,96 @@
+package com.iwacu250.landplots.service;
+
+import com.iwacu250.landplots.dto.GeoArea;
+import com.iwacu250.landplots.dto.ListingSummaryDTO;
+import com.iwacu250.landplots.entity.ListingSearchEntry;
+import com.iwacu250.landplots.entity.PropertyStatus;
+import com.iwacu250.landplots.entity.PropertyType;
+import com.iwacu250.landplots.mapper.ListingMapper;
+import com.iwacu250.landplots.repository.ListingReadRepository;
+import com.iwacu250.landplots.search.GeoUtils;
+import com.iwacu250.landplots.search.ListingQuery;
+import com.iwacu250.landplots.search.ListingType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class ListingSearchService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private ListingReadRepository listingReadRepository;
+
+    private static final int MAX_NEAREST = 50;
+
+    @Transactional(readOnly = true)
+    public Page<ListingSummaryDTO> search(ListingType listingType, String location, PropertyStatus status,
+                                          PropertyType type, Double minPrice, Double maxPrice,
+                                          Double minSize, Double maxSize, Integer bedrooms,
+                                          GeoArea area, String sortBy, String direction, int page, int size) {
+        String trimmedLocation = location != null && !location.trim().isEmpty() ? location.trim() : null;
+
+        // Point searches default to nearest first, text searches to relevance, the rest to newest first
+        String sortField = sortBy;
+        if (sortField == null || !ListingReadRepository.supportsSort(sortField)) {
+            if (area.hasPoint()) {
+                sortField = ListingReadRepository.SORT_DISTANCE;
+            } else {
+                sortField = trimmedLocation != null ? ListingReadRepository.SORT_RELEVANCE : "createdAt";
+            }
+        }
+
+        ListingQuery query = ListingQuery.builder()
+                .listingType(listingType)
+                .location(trimmedLocation)
+                .status(status)
+                .propertyType(type)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .minSize(minSize)
+                .maxSize(maxSize)
+                .bedrooms(bedrooms)
+                .minLat(area.getMinLat())
+                .maxLat(area.getMaxLat())
+                .minLng(area.getMinLng())
+                .maxLng(area.getMaxLng())
+                .nearLat(area.getLat())
+                .nearLng(area.getLng())
+                .radiusKm(area.getRadiusKm())
+                .sortBy(sortField)
+                .ascending("asc".equalsIgnoreCase(direction))
+                .page(Math.max(0, page))
+                .size(Math.max(1, Math.min(size, MAX_PAGE_SIZE)))
+                .build();
+        return listingReadRepository.search(query).map(entry -> toDto(entry, area));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ListingSummaryDTO> findNearest(double lat, double lng, int limit, ListingType listingType,
+                                               PropertyStatus status, Double radiusKm) {
+        GeoArea area = new GeoArea(null, null, null, null, lat, lng, radiusKm);
+        ListingQuery query = ListingQuery.builder()
+                .listingType(listingType)
+                .status(status)
+                .nearLat(lat)
+                .nearLng(lng)
+                .radiusKm(radiusKm)
+                .build();
+        return listingReadRepository.findNearest(query, Math.max(1, Math.min(limit, MAX_NEAREST))).stream()
+                .map(entry -> toDto(entry, area))
+                .collect(Collectors.toList());
+    }
+
+    private ListingSummaryDTO toDto(ListingSearchEntry entry, GeoArea area) {
+        ListingSummaryDTO dto = ListingMapper.toDto(entry);
+        if (area.hasPoint() && entry.getLatitude() != null && entry.getLongitude() != null) {
+            dto.setDistanceKm(GeoUtils.distanceKm(area.getLat(), area.getLng(), entry.getLatitude(), entry.getLongitude()));
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,34 @@
+package com.iwacu250.landplots.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Local stand-in used when no purge endpoint is configured: logs the keys and keeps them for
+ * inspection in tests.
+ */
+public class LoggingSurrogatePurger implements SurrogatePurger {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingSurrogatePurger.class);
+
+    private final List<String> purged = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void purge(Collection<String> keys) {
+        logger.debug("Surrogate key purge (no proxy configured): {}", keys);
+        purged.addAll(keys);
+    }
+
+    @Override
+    public boolean isRemote() {
+        return false;
+    }
+
+    public List<String> getPurged() {
+        return purged;
+    }
+}
@@ -0,0 +1,107 @@
+package com.iwacu250.landplots.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes stored media files of deleted images and listings. Files are only queued once the
+ * deleting transaction commits, so disk I/O never holds its locks and a rollback never leaves
+ * rows pointing at missing files. A background thread deletes them; files that fail are retried
+ * with a doubling delay, and after the last attempt they are logged and left on disk.
+ */
+@Service
+public class MediaCleanupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaCleanupService.class);
+
+    private final ScheduledThreadPoolExecutor cleanupExecutor = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "media-cleanup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final FileStorageService fileStorageService;
+    private final int maxAttempts;
+    private final long retryDelayMillis;
+
+    public MediaCleanupService(FileStorageService fileStorageService,
+                               @Value("${media.cleanup.max-attempts:5}") int maxAttempts,
+                               @Value("${media.cleanup.retry-delay-ms:2000}") long retryDelayMillis) {
+        this.fileStorageService = fileStorageService;
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMillis = retryDelayMillis;
+    }
+
+    /**
+     * Deletes the files (storage paths or public ids) after the current transaction commits;
+     * nothing happens if it rolls back.
+     */
+    public void deleteAfterCommit(Collection<String> paths) {
+        List<String> files = paths.stream()
+                .filter(path -> path != null && !path.isBlank())
+                .distinct()
+                .toList();
+        if (files.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            schedule(files, 1, 0);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                schedule(files, 1, 0);
+            }
+        });
+    }
+
+    private void schedule(List<String> files, int attempt, long delayMillis) {
+        try {
+            cleanupExecutor.schedule(() -> delete(files, attempt), delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Media cleanup is shut down; not deleting {}", files);
+        }
+    }
+
+    private void delete(List<String> files, int attempt) {
+        List<String> failed = new ArrayList<>();
+        for (String file : files) {
+            try {
+                // False only means the file is already gone
+                fileStorageService.deleteFile(file);
+            } catch (RuntimeException e) {
+                failed.add(file);
+                logger.warn("Deleting media file {} failed (attempt {}/{}): {}", file, attempt, maxAttempts, e.getMessage());
+            }
+        }
+        if (failed.isEmpty()) {
+            return;
+        }
+        if (attempt >= maxAttempts) {
+            logger.error("Giving up deleting media files {}; they have to be removed by hand", failed);
+            return;
+        }
+        schedule(failed, attempt + 1, retryDelayMillis << (attempt - 1));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        int pending = cleanupExecutor.shutdownNow().size();
+        if (pending > 0) {
+            logger.warn("{} media cleanup batches were still queued at shutdown", pending);
+        }
+    }
+}
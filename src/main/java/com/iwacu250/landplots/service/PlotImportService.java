@@ -0,0 +1,278 @@
+package com.iwacu250.landplots.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.iwacu250.landplots.dto.ImportReportDTO;
+import com.iwacu250.landplots.dto.PlotRequestDTO;
+import com.iwacu250.landplots.entity.Feature;
+import com.iwacu250.landplots.entity.Plot;
+import com.iwacu250.landplots.exception.InvalidImportException;
+import com.iwacu250.landplots.mapper.PlotMapper;
+import com.iwacu250.landplots.repository.PlotImportRepository;
+import com.iwacu250.landplots.search.ListingChangedEvent;
+import com.iwacu250.landplots.search.ListingDocument;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk plot import from CSV or NDJSON. The upload is read and validated one row at a time;
+ * valid rows are written {@code import.batch-size} at a time, each chunk in its own short
+ * transaction with batched inserts, so the import never holds a connection while parsing.
+ * Invalid rows, and the rows of a chunk the database rejects, are listed in the report and
+ * the rest of the file is still imported.
+ * <p>
+ * CSV files need a header row naming the {@link PlotRequestDTO} properties (title, location,
+ * size, sizeUnit, price, ...); features are separated by {@code |}. This is the layout of the
+ * plot export, so an export can be imported again.
+ */
+@Service
+public class PlotImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlotImportService.class);
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("title", "location", "size", "sizeUnit", "price");
+
+    private final PlotImportRepository importRepository;
+    private final FeatureDictionaryService featureDictionary;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader requestReader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate writeTransaction;
+    private final int batchSize;
+
+    public PlotImportService(PlotImportRepository importRepository, FeatureDictionaryService featureDictionary,
+                             Validator validator, ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${import.batch-size:500}") int batchSize) {
+        this.importRepository = importRepository;
+        this.featureDictionary = featureDictionary;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.requestReader = objectMapper.readerFor(PlotRequestDTO.class);
+        this.eventPublisher = eventPublisher;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    public ImportReportDTO importPlots(InputStream input, ExportFormat format) throws IOException {
+        ImportReportDTO report = new ImportReportDTO();
+        List<Row> chunk = new ArrayList<>(batchSize);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        RowSource rows = format == ExportFormat.CSV ? csvRows(reader) : ndjsonRows(reader);
+
+        Row row;
+        while ((row = rows.next()) != null) {
+            report.setTotalRows(report.getTotalRows() + 1);
+            try {
+                row.plot = toPlot(row);
+            } catch (RowException e) {
+                report.addError(row.line, e.getMessage());
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == batchSize) {
+                write(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk, report);
+        }
+        logger.info("Plot import: {} rows, {} imported, {} failed",
+                report.getTotalRows(), report.getImported(), report.getFailed());
+        return report;
+    }
+
+    private Plot toPlot(Row row) {
+        PlotRequestDTO dto;
+        try {
+            dto = row.json != null ? requestReader.readValue(row.json) : requestReader.readValue(row.node);
+        } catch (JsonProcessingException e) {
+            throw new RowException("Unreadable row: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new RowException("Unreadable row: " + e.getMessage());
+        }
+
+        Set<ConstraintViolation<PlotRequestDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new RowException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+
+        Plot plot = new Plot();
+        try {
+            PlotMapper.updateEntityFromRequest(plot, dto);
+        } catch (IllegalArgumentException e) {
+            throw new RowException("status: unknown value " + dto.getStatus());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        plot.setCreatedAt(now);
+        plot.setUpdatedAt(now);
+        row.featureNames = dto.getFeatures() == null ? List.of() : dto.getFeatures().stream()
+                .filter(name -> name != null && !name.isBlank())
+                .map(String::trim)
+                .distinct()
+                .collect(Collectors.toList());
+        return plot;
+    }
+
+    private void write(List<Row> chunk, ImportReportDTO report) {
+        try {
+            writeTransaction.executeWithoutResult(status -> {
+                // Every feature name of the chunk is resolved (or created) in one call
+                Set<String> names = new LinkedHashSet<>();
+                chunk.forEach(row -> names.addAll(row.featureNames));
+                Map<String, Feature> features = new HashMap<>();
+                featureDictionary.resolveNames(names).forEach((name, id) -> {
+                    Feature feature = new Feature(name);
+                    feature.setId(id);
+                    features.put(name, feature);
+                });
+
+                List<Plot> plots = new ArrayList<>(chunk.size());
+                List<Long> ids = importRepository.allocateIds(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    Row row = chunk.get(i);
+                    row.plot.setId(ids.get(i));
+                    for (String name : row.featureNames) {
+                        Feature feature = features.get(name);
+                        if (feature != null) {
+                            row.plot.getFeatures().add(feature);
+                        }
+                    }
+                    plots.add(row.plot);
+                }
+                importRepository.insert(plots);
+                // The listing_search rows go out as one batch; the events then only notify the
+                // after-commit listeners (index, caches, versions), like PlotService.createPlot
+                List<ListingDocument> documents = plots.stream().map(ListingDocument::fromPlot).collect(Collectors.toList());
+                importRepository.upsertSearchEntries(documents);
+                for (ListingDocument document : documents) {
+                    eventPublisher.publishEvent(ListingChangedEvent.projected(document));
+                }
+            });
+            report.setImported(report.getImported() + chunk.size());
+        } catch (DataAccessException | TransactionException e) {
+            String message = "Not saved, the batch was rejected: "
+                    + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            logger.warn("Plot import batch of {} rows failed: {}", chunk.size(), e.getMessage());
+            for (Row row : chunk) {
+                report.addError(row.line, message);
+            }
+        }
+    }
+
+    private RowSource ndjsonRows(BufferedReader reader) {
+        long[] lineNumber = {0};
+        return () -> {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber[0]++;
+                if (!line.isBlank()) {
+                    return new Row(lineNumber[0], line, null);
+                }
+            }
+            return null;
+        };
+    }
+
+    private RowSource csvRows(BufferedReader reader) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        String[] header = csv.next();
+        if (header == null) {
+            throw new InvalidImportException("The file is empty");
+        }
+        // Spreadsheet apps often save UTF-8 CSV with a byte order mark
+        if (header.length > 0 && header[0].startsWith("\uFEFF")) {
+            header[0] = header[0].substring(1);
+        }
+        for (int i = 0; i < header.length; i++) {
+            header[i] = header[i].trim();
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream()
+                .filter(column -> !Arrays.asList(header).contains(column))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            throw new InvalidImportException("Missing CSV columns: " + String.join(", ", missing));
+        }
+
+        return () -> {
+            String[] values = csv.next();
+            if (values == null) {
+                return null;
+            }
+            // Empty cells are left out so the DTO defaults (currency, status) apply
+            ObjectNode node = objectMapper.createObjectNode();
+            for (int i = 0; i < header.length && i < values.length; i++) {
+                String value = values[i].trim();
+                if (value.isEmpty()) {
+                    continue;
+                }
+                if (header[i].equals("features")) {
+                    ArrayNode features = node.putArray("features");
+                    Arrays.stream(value.split("\\|")).forEach(features::add);
+                } else {
+                    node.put(header[i], value);
+                }
+            }
+            return new Row(csv.getRecordLine(), null, node);
+        };
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        Row next() throws IOException;
+    }
+
+    private static final class Row {
+        final long line;
+        // Exactly one of json (an NDJSON line) and node (a CSV record) is set
+        final String json;
+        final ObjectNode node;
+        Plot plot;
+        List<String> featureNames;
+
+        Row(long line, String json, ObjectNode node) {
+            this.line = line;
+            this.json = json;
+            this.node = node;
+        }
+    }
+
+    private static final class RowException extends RuntimeException {
+        RowException(String message) {
+            super(message);
+        }
+    }
+}
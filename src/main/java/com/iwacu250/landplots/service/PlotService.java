@@ -1,22 +1,41 @@
 package com.iwacu250.landplots.service;
 
+import com.iwacu250.landplots.dto.CursorPage;
+import com.iwacu250.landplots.dto.FacetCountsDTO;
 import com.iwacu250.landplots.dto.ImageDTO;
 import com.iwacu250.landplots.dto.PlotDTO;
 import com.iwacu250.landplots.dto.PlotRequestDTO;
-import com.iwacu250.landplots.entity.Feature;
 import com.iwacu250.landplots.entity.Image;
 import com.iwacu250.landplots.entity.Plot;
 import com.iwacu250.landplots.entity.PropertyStatus;
+import com.iwacu250.landplots.exception.InvalidCursorException;
 import com.iwacu250.landplots.exception.ResourceNotFoundException;
 import com.iwacu250.landplots.mapper.PlotMapper;
 import com.iwacu250.landplots.repository.FeatureRepository;
 import com.iwacu250.landplots.repository.ImageRepository;
+import com.iwacu250.landplots.repository.ListingCriteria;
+import com.iwacu250.landplots.repository.ListingFacetRepository;
+import com.iwacu250.landplots.repository.ListingKeysetRepository;
+import com.iwacu250.landplots.repository.ListingProjectionRepository;
 import com.iwacu250.landplots.repository.PlotRepository;
+import com.iwacu250.landplots.repository.RowEstimateRepository;
+import com.iwacu250.landplots.repository.SliceRepository;
+import com.iwacu250.landplots.search.CountMode;
+import com.iwacu250.landplots.search.FieldSelection;
+import com.iwacu250.landplots.search.KeysetCursor;
+import com.iwacu250.landplots.search.ListingChangedEvent;
+import com.iwacu250.landplots.search.ListingDocument;
+import com.iwacu250.landplots.search.ListingIndexService;
+import com.iwacu250.landplots.search.ListingQuery;
+import com.iwacu250.landplots.search.ListingType;
+import com.iwacu250.landplots.search.PageCountService;
+import com.iwacu250.landplots.search.SearchCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -26,13 +45,17 @@ import org.springframework.lang.NonNull;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 public class PlotService {
 
     private static final Logger logger = LoggerFactory.getLogger(PlotService.class);
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
 
     @Autowired
     private PlotRepository plotRepository;
@@ -43,33 +66,185 @@ public class PlotService {
     @Autowired
     private FeatureRepository featureRepository;
 
+    @Autowired
+    private FeatureDictionaryService featureDictionary;
+
+    @Autowired
+    private ContentVersionService contentVersions;
+
     @Autowired
     private FileStorageService fileStorageService;
 
+    @Autowired
+    private MediaCleanupService mediaCleanupService;
+
+    @Autowired
+    private ListingIndexService listingIndexService;
+
+    @Autowired
+    private ListingKeysetRepository keysetRepository;
+
+    @Autowired
+    private ListingFacetRepository facetRepository;
+
+    @Autowired
+    private SearchCacheService searchCacheService;
+
+    @Autowired
+    private PageCountService pageCountService;
+
+    @Autowired
+    private SliceRepository sliceRepository;
+
+    @Autowired
+    private ListingProjectionRepository projectionRepository;
+
+    @Autowired
+    private RowEstimateRepository rowEstimateRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
-    public Page<PlotDTO> getAllPlots(int page, int size, String sortBy, String direction,
+    public Slice<PlotDTO> getAllPlots(int page, int size, String sortBy, String direction,
                                       String statusParam, String location, Double minPrice,
-                                      Double maxPrice, Double minSize, Double maxSize) {
-        // Convert status string to enum
-        PropertyStatus status = null;
-        if (statusParam != null && !statusParam.isEmpty()) {
-            try {
-                status = PropertyStatus.valueOf(statusParam.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                status = null;
+                                      Double maxPrice, Double minSize, Double maxSize,
+                                      CountMode countMode, FieldSelection selection) {
+        PropertyStatus status = parseStatus(statusParam);
+        String sortField = ListingCriteria.sortProperty(sortBy);
+        String normalizedLocation = location != null && !location.trim().isEmpty()
+                ? location.trim().toLowerCase(Locale.ROOT) : null;
+        // The filter alone keys the cached totals; the page and sort are added for cached results
+        ListingQuery filter = ListingQuery.builder()
+                .location(normalizedLocation)
+                .status(status)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .minSize(minSize)
+                .maxSize(maxSize)
+                .build();
+        ListingQuery cacheKey = filter.toBuilder()
+                .sortBy(normalizedLocation != null ? "relevance" : sortField)
+                .ascending(normalizedLocation == null && direction.equalsIgnoreCase("asc"))
+                .page(page)
+                .size(size)
+                .selection(selection)
+                .build();
+        Slice<PlotDTO> plots = searchCacheService.plots(cacheKey, () -> findPlots(
+                page, size, sortField, direction, status, location, minPrice, maxPrice, minSize, maxSize, selection));
+        return pageCountService.complete(plots, countMode, PageCountService.PLOTS, filter,
+                () -> countPlots(status, location, minPrice, maxPrice, minSize, maxSize),
+                () -> rowEstimateRepository.estimateListings(filter.toBuilder().listingType(ListingType.PLOT).build()));
+    }
+
+    private Slice<PlotDTO> findPlots(int page, int size, String sortBy, String direction,
+                                     PropertyStatus status, String location, Double minPrice,
+                                     Double maxPrice, Double minSize, Double maxSize,
+                                     FieldSelection selection) {
+        // Text searches are ordered by relevance rather than by the requested sort
+        if (location != null && !location.trim().isEmpty()) {
+            Slice<Long> ids = plotRepository.searchPlotsByText(
+                    location.trim(), status != null ? status.name() : null,
+                    minPrice, maxPrice, minSize, maxSize, PageRequest.of(page, size));
+            return projectionRepository.plotPage(ids, selection);
+        }
+
+        // Serve from the in-memory index when it can; the database only projects the page
+        ListingQuery query = ListingQuery.builder()
+                .status(status)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .minSize(minSize)
+                .maxSize(maxSize)
+                .sortBy(sortBy)
+                .ascending(direction.equalsIgnoreCase("asc"))
+                .page(page)
+                .size(size)
+                .build();
+        Optional<Page<Long>> indexed = listingIndexService.searchPlots(query);
+        if (indexed.isPresent()) {
+            return projectionRepository.plotPage(indexed.get(), selection);
+        }
+
+        // Only the active filters become predicates, sorted on an indexed column; no COUNT here
+        Pageable pageable = PageRequest.of(page, size, ListingCriteria.sort(sortBy, direction.equalsIgnoreCase("asc")));
+        Slice<Long> ids = sliceRepository.findIdSlice(Plot.class, ListingCriteria.<Plot>matching(query), pageable);
+        return projectionRepository.plotPage(ids, selection);
+    }
+
+    private long countPlots(PropertyStatus status, String location, Double minPrice,
+                            Double maxPrice, Double minSize, Double maxSize) {
+        if (location != null && !location.trim().isEmpty()) {
+            return plotRepository.countPlotsByText(location.trim(), status != null ? status.name() : null,
+                    minPrice, maxPrice, minSize, maxSize);
+        }
+        ListingQuery query = ListingQuery.builder()
+                .status(status)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .minSize(minSize)
+                .maxSize(maxSize)
+                .build();
+        return plotRepository.count(ListingCriteria.<Plot>matching(query));
+    }
+
+    @Transactional(readOnly = true)
+    public FacetCountsDTO getPlotFacets(String statusParam, String location, Double minPrice,
+                                        Double maxPrice, Double minSize, Double maxSize) {
+        ListingQuery query = ListingQuery.builder()
+                .location(location != null && !location.trim().isEmpty() ? location.trim() : null)
+                .status(parseStatus(statusParam))
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .minSize(minSize)
+                .maxSize(maxSize)
+                .build();
+        return listingIndexService.plotFacets(query)
+                .orElseGet(() -> facetRepository.plotFacets(query));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<PlotDTO> scrollPlots(String cursor, int size, String sortBy, String direction,
+                                           String statusParam, String location, Double minPrice,
+                                           Double maxPrice, Double minSize, Double maxSize) {
+        KeysetCursor after = (cursor != null && !cursor.isEmpty()) ? KeysetCursor.decode(cursor) : null;
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+
+        // A cursor always continues with the sort it was issued for
+        String sortField = after != null ? after.getSortBy() : sortBy;
+        boolean ascending = after != null ? after.isAscending() : direction.equalsIgnoreCase("asc");
+        if (!ListingKeysetRepository.supportsSort(sortField)) {
+            if (after != null) {
+                throw new InvalidCursorException(cursor);
             }
+            sortField = "id";
         }
-        
-        Sort sort = direction.equalsIgnoreCase("asc") 
-                ? Sort.by(sortBy).ascending() 
-                : Sort.by(sortBy).descending();
-                
-        Pageable pageable = PageRequest.of(page, size, sort);
-
-        // Search plots with the given filters
-        Page<Plot> plots = plotRepository.searchPlots(status, location, minPrice, maxPrice, minSize, maxSize, pageable);
-        return plots.map(this::convertToDTO);
+
+        ListingQuery query = ListingQuery.builder()
+                .location(location != null && !location.trim().isEmpty() ? location.trim() : null)
+                .status(parseStatus(statusParam))
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .minSize(minSize)
+                .maxSize(maxSize)
+                .sortBy(sortField)
+                .ascending(ascending)
+                .size(pageSize)
+                .build();
+
+        // Fetch one extra row to know whether another page exists
+        List<Plot> rows = keysetRepository.findPlots(query, after, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<Plot> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Plot last = pageRows.get(pageRows.size() - 1);
+            nextCursor = KeysetCursor.of(sortField, ascending,
+                    ListingKeysetRepository.sortValue(last, sortField), last.getId()).encode();
+        }
+        List<PlotDTO> content = pageRows.stream().map(this::convertToDTO).collect(Collectors.toList());
+        return new CursorPage<>(content, pageSize, hasNext, nextCursor);
     }
 
     @Transactional(readOnly = true)
@@ -81,7 +256,7 @@ public class PlotService {
 
     @Transactional(readOnly = true)
     public PlotDTO getPlotById(Long id) {
-        Plot plot = plotRepository.findById(id)
+        Plot plot = plotRepository.findDetailedById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Plot", "id", id));
         return convertToDTO(plot);
     }
@@ -91,6 +266,7 @@ public class PlotService {
         Plot plot = new Plot();
         updatePlotFromDTO(plot, plotRequestDTO);
         Plot savedPlot = plotRepository.save(plot);
+        publishChanged(savedPlot);
         return convertToDTO(savedPlot);
     }
 
@@ -101,22 +277,20 @@ public class PlotService {
         
         updatePlotFromDTO(plot, plotRequestDTO);
         Plot updatedPlot = plotRepository.save(plot);
+        publishChanged(updatedPlot);
         return convertToDTO(updatedPlot);
     }
 
     @Transactional
     public void deletePlot(@NonNull Long id) {
-        // Get the plot to delete its images
-        Plot plot = plotRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Plot", "id", id));
-        
-        // Delete all associated images
-        for (Image image : plot.getImages()) {
-            deleteImage(image.getId());
+        // Three statements whatever the number of images; the files go after commit
+        List<String> files = imageRepository.findStoragePathsByPlotId(id);
+        imageRepository.deleteAllByPlotId(id);
+        if (plotRepository.deleteInBulk(id) == 0) {
+            throw new ResourceNotFoundException("Plot", "id", id);
         }
-        
-        // Delete the plot
-        plotRepository.delete(plot);
+        mediaCleanupService.deleteAfterCommit(files);
+        eventPublisher.publishEvent(ListingChangedEvent.deleted(ListingType.PLOT, id));
     }
 
     @Transactional
@@ -126,6 +300,7 @@ public class PlotService {
         PropertyStatus status = PropertyStatus.valueOf(statusStr);
         plot.setStatus(status);
         Plot updatedPlot = plotRepository.save(plot);
+        publishChanged(updatedPlot);
         return convertToDTO(updatedPlot);
     }
 
@@ -178,6 +353,7 @@ public class PlotService {
                 plot.setFeaturedImageUrl(uploadResponse.getUrl());
                 plotRepository.save(plot);
             }
+            publishChanged(plot);
 
             return convertImageToDTO(savedImage);
         } catch (Exception e) {
@@ -192,16 +368,12 @@ public class PlotService {
         Image image = imageRepository.findById(imageId)
                 .orElseThrow(() -> new ResourceNotFoundException("Image", "id", imageId));
         
-        // Delete the file from storage
-        boolean deleted = fileStorageService.deleteFile(
+        // Delete the file from storage once the row is gone
+        mediaCleanupService.deleteAfterCommit(List.of(
             image.getCloudinaryPublicId() != null ? 
             image.getCloudinaryPublicId() : 
             image.getImageUrl()
-        );
-        
-        if (!deleted) {
-            logger.warn("Failed to delete file for image ID: {}", imageId);
-        }
+        ));
         
         // Remove from any plot's featured image reference if needed
         Plot plot = image.getPlot();
@@ -213,14 +385,16 @@ public class PlotService {
         
         // Delete the image entity
         imageRepository.delete(image);
+        if (plot != null) {
+            publishChanged(plot);
+        }
     }
 
     @Transactional
     public void reorderImages(Long plotId, List<Long> imageIds) {
         // Verify plot exists
-        if (!plotRepository.existsById(plotId)) {
-            throw new ResourceNotFoundException("Plot", "id", plotId);
-        }
+        Plot plot = plotRepository.findById(plotId)
+                .orElseThrow(() -> new ResourceNotFoundException("Plot", "id", plotId));
 
         for (int i = 0; i < imageIds.size(); i++) {
             Long imageId = imageIds.get(i);
@@ -229,26 +403,41 @@ public class PlotService {
             image.setDisplayOrder(i);
             imageRepository.save(image);
         }
+        publishChanged(plot);
     }
 
     private void updatePlotFromDTO(Plot plot, PlotRequestDTO dto) {
         // Update basic fields
         PlotMapper.updateEntityFromRequest(plot, dto);
         
-        // Handle features
+        // Handle features: all names resolved together, then the rows loaded in one IN query (or from
+        // the second-level cache). References would not help: adding one to the set hashes it, and
+        // Feature's hashCode covers its name and description, so each proxy was loaded on its own
         plot.getFeatures().clear();
         if (dto.getFeatures() != null && !dto.getFeatures().isEmpty()) {
-            for (String featureName : dto.getFeatures()) {
-                Feature feature = featureRepository.findByName(featureName)
-                        .orElseGet(() -> {
-                            Feature newFeature = new Feature(featureName);
-                            return featureRepository.save(newFeature);
-                        });
-                plot.addFeature(feature);
-            }
+            Collection<Long> featureIds = featureDictionary.resolveNames(dto.getFeatures()).values();
+            plot.getFeatures().addAll(featureRepository.findAllById(featureIds));
         }
     }
 
+    private PropertyStatus parseStatus(String statusParam) {
+        if (statusParam == null || statusParam.isEmpty()) {
+            return null;
+        }
+        try {
+            return PropertyStatus.valueOf(statusParam.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void publishChanged(Plot plot) {
+        // updatedAt is set by @PreUpdate, which only runs when the change is flushed; without the
+        // flush the document would carry the previous value
+        plotRepository.flush();
+        eventPublisher.publishEvent(ListingChangedEvent.upserted(ListingDocument.fromPlot(plot)));
+    }
+
     private PlotDTO convertToDTO(Plot plot) {
         return PlotMapper.toDto(plot);
     }
@@ -272,6 +461,7 @@ public class PlotService {
         // Update plot with video URL
         plot.setVideoUrl(uploadResponse.getUrl());
         plotRepository.save(plot);
+        publishChanged(plot);
 
         return uploadResponse.getUrl();
     }
@@ -0,0 +1,91 @@
+package com.iwacu250.landplots.service;
+
+import com.iwacu250.landplots.dto.CacheStatsDTO;
+import com.iwacu250.landplots.entity.Feature;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Second-level cache of the reference data entities: statistics for the admin dashboard, and
+ * the evictions Hibernate cannot do by itself.
+ * <p>
+ * {@link Feature} and {@code HouseFeature} are two entities over the same features table.
+ * Hibernate keeps their cache entries apart, so a feature edited through the house feature
+ * admin leaves the plot-side {@link Feature} entry stale until it is evicted here.
+ */
+@Service
+public class ReferenceCacheService {
+
+    private final SessionFactory sessionFactory;
+
+    public ReferenceCacheService(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * Evicts the {@link Feature} entry of a features row, and its name resolutions, once the
+     * current transaction commits; evicting earlier would let a concurrent read cache the
+     * old row again.
+     */
+    public void evictFeatureAfterCommit(Long featureId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictFeature(featureId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictFeature(featureId);
+            }
+        });
+    }
+
+    /**
+     * Drops the cached query results (findByName, existsByName, ...) once the current transaction
+     * commits, for features rows written with plain SQL, which Hibernate cannot track.
+     */
+    public void evictFeatureQueriesAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sessionFactory.getCache().evictDefaultQueryRegion();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sessionFactory.getCache().evictDefaultQueryRegion();
+            }
+        });
+    }
+
+    private void evictFeature(Long featureId) {
+        sessionFactory.getCache().evictEntityData(Feature.class, featureId);
+        sessionFactory.getCache().evictNaturalIdData(Feature.class);
+    }
+
+    public CacheStatsDTO getStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return new CacheStatsDTO(false, List.of(), null, null, null);
+        }
+        List<CacheStatsDTO.Region> regions = new ArrayList<>();
+        Arrays.stream(statistics.getSecondLevelCacheRegionNames()).sorted().forEach(name -> {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region != null) {
+                long entries = region.getElementCountInMemory();
+                regions.add(new CacheStatsDTO.Region(name, region.getHitCount(), region.getMissCount(),
+                        region.getPutCount(), entries >= 0 ? entries : null));
+            }
+        });
+        return new CacheStatsDTO(true, regions, statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount());
+    }
+}
@@ -1,6 +1,7 @@
 package com.iwacu250.landplots.service;
 
 import com.iwacu250.landplots.entity.Setting;
+import com.iwacu250.landplots.repository.NaturalIdRepository;
 import com.iwacu250.landplots.repository.SettingRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -16,9 +17,16 @@ public class SettingService {
     @Autowired
     private SettingRepository settingRepository;
 
+    @Autowired
+    private NaturalIdRepository naturalIdRepository;
+
+    @Autowired
+    private ContentVersionService contentVersions;
+
+    // Served from the natural-id and second-level caches once warm
     @Transactional(readOnly = true)
     public String getSettingValue(String key) {
-        return settingRepository.findBySettingKey(key)
+        return naturalIdRepository.find(Setting.class, key)
                 .map(Setting::getSettingValue)
                 .orElse(null);
     }
@@ -58,6 +66,7 @@ public class SettingService {
         Setting setting = settingRepository.findBySettingKey(key)
                 .orElse(new Setting(key, value));
         setting.setSettingValue(value);
+        contentVersions.changedAfterCommit(ContentVersionService.SETTINGS);
         return settingRepository.save(setting);
     }
 
@@ -69,6 +78,7 @@ public class SettingService {
             settingRepository.save(new Setting("company_email", "karimukanakuze2050@gmail.com"));
             settingRepository.save(new Setting("company_address", "Kigali, Rwanda"));
             settingRepository.save(new Setting("company_phone", "+250780314239"));
+            contentVersions.changedAfterCommit(ContentVersionService.SETTINGS);
         }
     }
 }
@@ -0,0 +1,16 @@
+package com.iwacu250.landplots.service;
+
+import java.util.Collection;
+
+/**
+ * Purges the reverse-proxy cache entries tagged with the given surrogate keys.
+ */
+public interface SurrogatePurger {
+
+    void purge(Collection<String> keys);
+
+    /**
+     * Whether purges reach a real proxy; responses are only cached at the edge when they do.
+     */
+    boolean isRemote();
+}
@@ -0,0 +1,29 @@
+-- Pooled id sequences of the entities that moved off IDENTITY columns (allocationSize = 50).
+-- Runs after Hibernate's schema update on every start, so every statement must be idempotent:
+-- sequences only ever move forward, to at least one block past the highest id in use. Hibernate
+-- treats a sequence value v as the block v-49..v, hence the + 50.
+
+CREATE SEQUENCE IF NOT EXISTS plots_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS houses_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS images_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS house_images_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS inquiries_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS features_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS listing_search_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('plots_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM plots) + 50, (SELECT last_value FROM plots_seq)));
+SELECT setval('houses_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM houses) + 50, (SELECT last_value FROM houses_seq)));
+SELECT setval('images_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM images) + 50, (SELECT last_value FROM images_seq)));
+SELECT setval('house_images_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM house_images) + 50, (SELECT last_value FROM house_images_seq)));
+SELECT setval('inquiries_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM inquiries) + 50, (SELECT last_value FROM inquiries_seq)));
+SELECT setval('features_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM features) + 50, (SELECT last_value FROM features_seq)));
+SELECT setval('listing_search_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM listing_search) + 50, (SELECT last_value FROM listing_search_seq)));
+
+-- Ids are assigned by Hibernate now; the old identity defaults would only hand out colliding ids
+ALTER TABLE plots ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE houses ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE images ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE house_images ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE inquiries ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE features ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE listing_search ALTER COLUMN id DROP IDENTITY IF EXISTS;
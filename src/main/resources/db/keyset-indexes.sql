@@ -0,0 +1,12 @@
+-- Composite (sort column, id) indexes backing keyset pagination in ListingKeysetRepository.
+-- Row-value seeks such as (created_at, id) < (?, ?) become a single index range scan.
+
+CREATE INDEX IF NOT EXISTS idx_plots_created_at_id ON plots (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_plots_price_id ON plots (price, id);
+CREATE INDEX IF NOT EXISTS idx_plots_size_id ON plots (size, id);
+CREATE INDEX IF NOT EXISTS idx_plots_status_created_at_id ON plots (status, created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_houses_created_at_id ON houses (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_houses_price_id ON houses (price, id);
+CREATE INDEX IF NOT EXISTS idx_houses_size_id ON houses (size, id);
+CREATE INDEX IF NOT EXISTS idx_houses_status_created_at_id ON houses (status, created_at, id);
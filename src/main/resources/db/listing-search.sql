@@ -0,0 +1,87 @@
+-- listing_search read model: one row per plot or house, kept in step by ListingSearchProjector.
+-- Hibernate creates the table; this script adds the search column and indexes, and backfills
+-- listings that predate the read model. Every statement must be idempotent.
+
+ALTER TABLE listing_search ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(location, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_listing_search_search_vector ON listing_search USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_listing_search_location_trgm ON listing_search USING GIN (location gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_listing_search_title_trgm ON listing_search USING GIN (title gin_trgm_ops);
+
+-- Every sort ends with id so pages are stable across equal values
+CREATE INDEX IF NOT EXISTS idx_listing_search_price_id ON listing_search (price, id);
+CREATE INDEX IF NOT EXISTS idx_listing_search_size_id ON listing_search (size, id);
+CREATE INDEX IF NOT EXISTS idx_listing_search_created_at_id ON listing_search (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_listing_search_status_price_id ON listing_search (status, price, id);
+
+-- Repairs rows that drifted from their listing (a write that missed the projector, a manual
+-- fix in the base table). Only rows that actually differ are rewritten.
+UPDATE listing_search s
+SET (title, location, latitude, longitude, price, currency, size, size_unit,
+     bedrooms, status, type, featured_image_url, created_at, updated_at) =
+    (p.title, p.location, p.latitude, p.longitude, p.price, p.currency, p.size, p.size_unit,
+     NULL::integer, p.status, 'LAND', p.featured_image_url, p.created_at, p.updated_at)
+FROM plots p
+WHERE s.listing_type = 'PLOT' AND s.listing_id = p.id
+  AND (s.title, s.location, s.latitude, s.longitude, s.price, s.currency, s.size, s.size_unit,
+       s.bedrooms, s.status, s.type, s.featured_image_url, s.created_at, s.updated_at)
+      IS DISTINCT FROM
+      (p.title, p.location, p.latitude, p.longitude, p.price, p.currency, p.size, p.size_unit,
+       NULL::integer, p.status, 'LAND', p.featured_image_url, p.created_at, p.updated_at);
+
+UPDATE listing_search s
+SET (title, location, latitude, longitude, price, currency, size, size_unit,
+     bedrooms, status, type, featured_image_url, created_at, updated_at) =
+    (h.title, h.location, h.latitude, h.longitude, h.price, h.currency, h.size, h.size_unit,
+     h.bedrooms, h.status, h.type, h.featured_image_url, h.created_at, h.updated_at)
+FROM houses h
+WHERE s.listing_type = 'HOUSE' AND s.listing_id = h.id
+  AND (s.title, s.location, s.latitude, s.longitude, s.price, s.currency, s.size, s.size_unit,
+       s.bedrooms, s.status, s.type, s.featured_image_url, s.created_at, s.updated_at)
+      IS DISTINCT FROM
+      (h.title, h.location, h.latitude, h.longitude, h.price, h.currency, h.size, h.size_unit,
+       h.bedrooms, h.status, h.type, h.featured_image_url, h.created_at, h.updated_at);
+
+-- id has no default since id-sequences.sql dropped the identity; each backfilled row takes a
+-- fresh listing_search_seq value, which never falls in a block Hibernate handed out. Rows that
+-- already exist are skipped before nextval runs, so restarts do not use up the sequence; one
+-- inserted concurrently by the projector is overwritten with the same projection, like
+-- PlotImportRepository's upsert.
+INSERT INTO listing_search (id, listing_type, listing_id, title, location, latitude, longitude, price, currency, size, size_unit,
+                            bedrooms, status, type, featured_image_url, created_at, updated_at)
+SELECT nextval('listing_search_seq'), 'PLOT', p.id, p.title, p.location, p.latitude, p.longitude, p.price, p.currency, p.size, p.size_unit,
+       NULL, p.status, 'LAND', p.featured_image_url, p.created_at, p.updated_at
+FROM plots p
+WHERE NOT EXISTS (SELECT 1 FROM listing_search s WHERE s.listing_type = 'PLOT' AND s.listing_id = p.id)
+ON CONFLICT (listing_type, listing_id) DO UPDATE SET title = EXCLUDED.title, location = EXCLUDED.location,
+    latitude = EXCLUDED.latitude, longitude = EXCLUDED.longitude, price = EXCLUDED.price, currency = EXCLUDED.currency,
+    size = EXCLUDED.size, size_unit = EXCLUDED.size_unit, bedrooms = EXCLUDED.bedrooms, status = EXCLUDED.status,
+    type = EXCLUDED.type, featured_image_url = EXCLUDED.featured_image_url, created_at = EXCLUDED.created_at,
+    updated_at = EXCLUDED.updated_at;
+
+INSERT INTO listing_search (id, listing_type, listing_id, title, location, latitude, longitude, price, currency, size, size_unit,
+                            bedrooms, status, type, featured_image_url, created_at, updated_at)
+SELECT nextval('listing_search_seq'), 'HOUSE', h.id, h.title, h.location, h.latitude, h.longitude, h.price, h.currency, h.size, h.size_unit,
+       h.bedrooms, h.status, h.type, h.featured_image_url, h.created_at, h.updated_at
+FROM houses h
+WHERE NOT EXISTS (SELECT 1 FROM listing_search s WHERE s.listing_type = 'HOUSE' AND s.listing_id = h.id)
+ON CONFLICT (listing_type, listing_id) DO UPDATE SET title = EXCLUDED.title, location = EXCLUDED.location,
+    latitude = EXCLUDED.latitude, longitude = EXCLUDED.longitude, price = EXCLUDED.price, currency = EXCLUDED.currency,
+    size = EXCLUDED.size, size_unit = EXCLUDED.size_unit, bedrooms = EXCLUDED.bedrooms, status = EXCLUDED.status,
+    type = EXCLUDED.type, featured_image_url = EXCLUDED.featured_image_url, created_at = EXCLUDED.created_at,
+    updated_at = EXCLUDED.updated_at;
+
+DELETE FROM listing_search s
+WHERE s.listing_type = 'PLOT' AND NOT EXISTS (SELECT 1 FROM plots p WHERE p.id = s.listing_id);
+
+DELETE FROM listing_search s
+WHERE s.listing_type = 'HOUSE' AND NOT EXISTS (SELECT 1 FROM houses h WHERE h.id = s.listing_id);
+
+-- Spatial index for bounding-box, radius and nearest-first (<->) queries. Postgres' built-in
+-- point type is enough here, so PostGIS is not required.
+CREATE INDEX IF NOT EXISTS idx_listing_search_geo ON listing_search USING GIST (point(longitude, latitude))
+    WHERE latitude IS NOT NULL AND longitude IS NOT NULL;
@@ -0,0 +1,29 @@
+-- Text search support for plots and houses.
+-- Runs after Hibernate's schema update (see spring.jpa.defer-datasource-initialization),
+-- so every statement must be idempotent.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Weighted tsvector kept up to date by Postgres itself: title > location > description
+ALTER TABLE plots ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(location, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'C')
+    ) STORED;
+
+ALTER TABLE houses ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(location, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_plots_search_vector ON plots USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_houses_search_vector ON houses USING GIN (search_vector);
+
+-- Trigram indexes give typo tolerance on the short, frequently searched columns
+CREATE INDEX IF NOT EXISTS idx_plots_location_trgm ON plots USING GIN (location gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_plots_title_trgm ON plots USING GIN (title gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_houses_location_trgm ON houses USING GIN (location gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_houses_title_trgm ON houses USING GIN (title gin_trgm_ops);
@@ -0,0 +1,167 @@
+package com.iwacu250.landplots.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.iwacu250.landplots.config.JacksonConfig;
+import com.iwacu250.landplots.dto.HouseDTO;
+import com.iwacu250.landplots.dto.HouseFeatureDTO;
+import com.iwacu250.landplots.dto.ImageDTO;
+import com.iwacu250.landplots.dto.PlotDTO;
+import com.iwacu250.landplots.entity.PropertyStatus;
+import com.iwacu250.landplots.entity.PropertyType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a listing page of 24 plots or houses, each with images or features:
+ * {@code baseline*} uses the mapper as Spring Boot configured it before {@link JacksonConfig}
+ * (reflection, bean-serialized {@code PageImpl}), {@code tuned*} the current one, built the same
+ * way from the Module beans of {@link JacksonConfig} (Blackbird, compact page envelope), with a
+ * writer bound to the page type.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 24;
+
+    private ObjectMapper baseline;
+    private ObjectWriter tunedPageWriter;
+    private Page<PlotDTO> plots;
+    private Page<HouseDTO> houses;
+
+    @Setup
+    public void setUp() {
+        // Both start from Spring Boot's builder defaults (well-known modules such as JavaTimeModule,
+        // ISO dates); the tuned mapper adds the application's Module beans, as Boot does at startup
+        baseline = objectMapperBuilder().build();
+        JacksonConfig jacksonConfig = new JacksonConfig();
+        ObjectMapper tuned = objectMapperBuilder()
+                .modulesToInstall(jacksonConfig.blackbirdModule(), jacksonConfig.compactPageModule())
+                .build();
+        tunedPageWriter = tuned.writerFor(Slice.class);
+
+        PageRequest pageable = PageRequest.of(2, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"));
+        List<PlotDTO> plotList = new ArrayList<>();
+        List<HouseDTO> houseList = new ArrayList<>();
+        for (long i = 0; i < PAGE_SIZE; i++) {
+            plotList.add(plot(i));
+            houseList.add(house(i));
+        }
+        plots = new PageImpl<>(plotList, pageable, 1000);
+        houses = new PageImpl<>(houseList, pageable, 1000);
+    }
+
+    private static Jackson2ObjectMapperBuilder objectMapperBuilder() {
+        return new Jackson2ObjectMapperBuilder()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public byte[] baselinePlots() throws Exception {
+        return baseline.writeValueAsBytes(plots);
+    }
+
+    @Benchmark
+    public byte[] tunedPlots() throws Exception {
+        return tunedPageWriter.writeValueAsBytes(plots);
+    }
+
+    @Benchmark
+    public byte[] baselineHouses() throws Exception {
+        return baseline.writeValueAsBytes(houses);
+    }
+
+    @Benchmark
+    public byte[] tunedHouses() throws Exception {
+        return tunedPageWriter.writeValueAsBytes(houses);
+    }
+
+    private static PlotDTO plot(long id) {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 30).plusHours(id);
+        PlotDTO plot = new PlotDTO();
+        plot.setId(id);
+        plot.setTitle("Plot " + id + " in Kicukiro");
+        plot.setLocation("Kicukiro, Kigali");
+        plot.setLatitude(-1.97 + id / 1000.0);
+        plot.setLongitude(30.10 + id / 1000.0);
+        plot.setSize(600.0 + id);
+        plot.setSizeUnit("sqm");
+        plot.setPrice(25_000_000.0 + id * 1000);
+        plot.setCurrency("RWF");
+        plot.setDescription("Flat residential plot with road access, water and electricity nearby.");
+        plot.setStatus(PropertyStatus.AVAILABLE);
+        plot.setFeaturedImageUrl("https://res.cloudinary.com/demo/image/upload/plots/" + id + "/0.jpg");
+        for (int i = 0; i < 6; i++) {
+            plot.getImages().add(new ImageDTO(id * 10 + i,
+                    "https://res.cloudinary.com/demo/image/upload/plots/" + id + "/" + i + ".jpg",
+                    i, i == 0, createdAt));
+        }
+        plot.getFeatures().add("Road access");
+        plot.getFeatures().add("Water");
+        plot.getFeatures().add("Electricity");
+        plot.setCreatedAt(createdAt);
+        plot.setUpdatedAt(createdAt.plusDays(1));
+        return plot;
+    }
+
+    private static HouseDTO house(long id) {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 30).plusHours(id);
+        HouseDTO house = new HouseDTO();
+        house.setId(id);
+        house.setTitle("House " + id + " in Kimihurura");
+        house.setLocation("Kimihurura, Kigali");
+        house.setLatitude(-1.95 + id / 1000.0);
+        house.setLongitude(30.08 + id / 1000.0);
+        house.setSize(220.0 + id);
+        house.setPrice(180_000_000.0 + id * 1000);
+        house.setDescription("Four-bedroom family house with garden and parking.");
+        house.setType(PropertyType.HOUSE);
+        house.setBedrooms(4);
+        house.setBathrooms(3.0);
+        house.setYearBuilt(2018);
+        house.setFloors(2);
+        house.setFeaturedImageUrl("https://res.cloudinary.com/demo/image/upload/houses/" + id + "/0.jpg");
+        for (int i = 0; i < 6; i++) {
+            house.getImageUrls().add("https://res.cloudinary.com/demo/image/upload/houses/" + id + "/" + i + ".jpg");
+        }
+        String[] features = {"Garden", "Parking", "Security", "Water tank"};
+        for (int i = 0; i < features.length; i++) {
+            HouseFeatureDTO feature = new HouseFeatureDTO();
+            feature.setId((long) i + 1);
+            feature.setName(features[i]);
+            feature.setIcon("fa-" + i);
+            house.getFeatures().add(feature);
+        }
+        house.setCreatedAt(createdAt);
+        house.setUpdatedAt(createdAt.plusDays(1));
+        return house;
+    }
+}
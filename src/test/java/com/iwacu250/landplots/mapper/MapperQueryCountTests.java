@@ -0,0 +1,171 @@
+package com.iwacu250.landplots.mapper;
+
+import com.iwacu250.landplots.dto.HouseDTO;
+import com.iwacu250.landplots.dto.PlotDTO;
+import com.iwacu250.landplots.entity.Feature;
+import com.iwacu250.landplots.entity.House;
+import com.iwacu250.landplots.entity.HouseFeature;
+import com.iwacu250.landplots.entity.HouseImage;
+import com.iwacu250.landplots.entity.Image;
+import com.iwacu250.landplots.entity.Plot;
+import com.iwacu250.landplots.repository.HouseFeatureRepository;
+import com.iwacu250.landplots.repository.HouseRepository;
+import com.iwacu250.landplots.repository.PlotRepository;
+import com.iwacu250.landplots.service.HouseService;
+import com.iwacu250.landplots.service.PlotService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reading a listing's detail must cost the same number of statements whatever its feature count,
+ * and return each of its images once.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class MapperQueryCountTests {
+
+    private static final int IMAGES_PER_LISTING = 3;
+
+    @Autowired
+    private PlotRepository plotRepository;
+
+    @Autowired
+    private HouseRepository houseRepository;
+
+    @Autowired
+    private HouseFeatureRepository houseFeatureRepository;
+
+    @Autowired
+    private PlotService plotService;
+
+    @Autowired
+    private HouseService houseService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void plotDetailLoadsInConstantQueries() {
+        Long few = savePlot(0, 1).getId();
+        Long many = savePlot(1, 5).getId();
+
+        long small = statementsToRead(() -> plotService.getPlotById(few));
+        long large = statementsToRead(() -> plotService.getPlotById(many));
+
+        // The plot with its images, then one batch for the features
+        assertThat(large).isEqualTo(small).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void plotDetailReturnsEachImageOnce() {
+        Long id = savePlot(0, 5).getId();
+        clearContext();
+
+        PlotDTO plot = plotService.getPlotById(id);
+
+        assertThat(plot.getImages()).hasSize(IMAGES_PER_LISTING);
+        assertThat(plot.getFeatures()).hasSize(5);
+    }
+
+    @Test
+    void houseDetailLoadsInConstantQueries() {
+        Long few = saveHouse(0, 1).getId();
+        Long many = saveHouse(1, 5).getId();
+
+        long small = statementsToRead(() -> houseService.getHouseById(few));
+        long large = statementsToRead(() -> houseService.getHouseById(many));
+
+        // The house with its images, then one batch each for the feature joins and features
+        assertThat(large).isEqualTo(small).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void houseDetailReturnsEachImageOnce() {
+        Long id = saveHouse(0, 5).getId();
+        clearContext();
+
+        HouseDTO house = houseService.getHouseById(id);
+
+        assertThat(house.getImageUrls()).hasSize(IMAGES_PER_LISTING);
+        assertThat(house.getFeatures()).hasSize(5);
+        // The DTO keeps image URLs in a set, so check the loaded collection itself too
+        clearContext();
+        assertThat(houseRepository.findDetailedById(id).orElseThrow().getImages()).hasSize(IMAGES_PER_LISTING);
+    }
+
+    private long statementsToRead(Runnable read) {
+        clearContext();
+        statistics.clear();
+        read.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void clearContext() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Plot savePlot(int index, int featureCount) {
+        Plot plot = new Plot();
+        plot.setTitle("Query count plot " + index);
+        plot.setLocation("Kicukiro, Kigali");
+        plot.setSize(300.0 + index);
+        plot.setSizeUnit("sqm");
+        plot.setPrice(1_000_000.0 + index);
+        for (int i = 0; i < IMAGES_PER_LISTING; i++) {
+            Image image = new Image();
+            image.setImageUrl("https://example.com/plot-" + index + "-" + i + ".jpg");
+            image.setUploadedAt(LocalDateTime.now());
+            image.setPlot(plot);
+            plot.getImages().add(image);
+        }
+        for (int i = 0; i < featureCount; i++) {
+            plot.addFeature(new Feature("feature-" + UUID.randomUUID()));
+        }
+        return plotRepository.save(plot);
+    }
+
+    private House saveHouse(int index, int featureCount) {
+        House house = new House();
+        house.setTitle("Query count house " + index);
+        house.setLocation("Gasabo, Kigali");
+        house.setSize(150.0 + index);
+        house.setPrice(50_000_000.0 + index);
+        for (int i = 0; i < IMAGES_PER_LISTING; i++) {
+            HouseImage image = new HouseImage();
+            image.setImageUrl("https://example.com/house-" + index + "-" + i + ".jpg");
+            house.addImage(image);
+        }
+        House saved = houseRepository.save(house);
+        for (int i = 0; i < featureCount; i++) {
+            HouseFeature feature = new HouseFeature();
+            feature.setName("house-feature-" + UUID.randomUUID());
+            saved.addFeature(houseFeatureRepository.save(feature));
+        }
+        return houseRepository.save(saved);
+    }
+}
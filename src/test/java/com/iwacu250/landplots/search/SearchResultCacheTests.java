@@ -0,0 +1,136 @@
+package com.iwacu250.landplots.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Single flight, stale-while-revalidate and invalidation of the search result cache, without
+ * Spring or a database. Background refreshes are queued and run by hand.
+ */
+class SearchResultCacheTests {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    private final List<Runnable> refreshes = new ArrayList<>();
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        // Nothing is ever fresh or stale, so the second reader can only get the value by joining the load
+        SearchResultCache<String, Set<Long>> cache = cache(0, 0);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        AtomicReference<Set<Long>> first = new AtomicReference<>();
+        Thread loader = new Thread(() -> first.set(cache.get("q", () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return Set.of(1L);
+        })));
+        loader.start();
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        AtomicReference<Set<Long>> second = new AtomicReference<>();
+        Thread waiter = new Thread(() -> second.set(cache.get("q", () -> {
+            loads.incrementAndGet();
+            return Set.of(2L);
+        })));
+        waiter.start();
+        waitUntilParked(waiter);
+        release.countDown();
+        loader.join(5000);
+        waiter.join(5000);
+
+        assertThat(loads).hasValue(1);
+        assertThat(first.get()).isEqualTo(Set.of(1L));
+        assertThat(second.get()).isEqualTo(Set.of(1L));
+    }
+
+    @Test
+    void staleEntryIsServedWhileItRefreshes() {
+        SearchResultCache<String, Set<Long>> cache = cache(0, MINUTE);
+        cache.get("q", () -> Set.of(1L));
+
+        assertThat(cache.get("q", () -> Set.of(2L))).isEqualTo(Set.of(1L));
+        assertThat(refreshes).hasSize(1);
+
+        runRefreshes();
+        assertThat(cache.get("q", () -> Set.of(3L))).isEqualTo(Set.of(2L));
+    }
+
+    @Test
+    void failedRefreshKeepsTheStaleEntry() {
+        SearchResultCache<String, Set<Long>> cache = cache(0, MINUTE);
+        cache.get("q", () -> Set.of(1L));
+
+        cache.get("q", () -> {
+            throw new IllegalStateException("database down");
+        });
+        runRefreshes();
+
+        assertThat(cache.get("q", () -> Set.of(2L))).isEqualTo(Set.of(1L));
+    }
+
+    @Test
+    void loadRunningAcrossAnInvalidationIsNotStored() {
+        SearchResultCache<String, Set<Long>> cache = cache(MINUTE, MINUTE);
+
+        Set<Long> loaded = cache.get("q", () -> {
+            // A listing changes while the page is being read
+            cache.invalidate((key, ids) -> true);
+            return Set.of(1L);
+        });
+
+        assertThat(loaded).isEqualTo(Set.of(1L));
+        assertThat(cache.get("q", () -> Set.of(2L))).isEqualTo(Set.of(2L));
+    }
+
+    @Test
+    void invalidateDropsOnlyAffectedEntries() {
+        SearchResultCache<String, Set<Long>> cache = cache(MINUTE, MINUTE);
+        cache.get("a", () -> Set.of(1L, 2L));
+        cache.get("b", () -> Set.of(3L));
+
+        cache.invalidate((key, ids) -> ids.contains(2L));
+
+        assertThat(cache.get("a", () -> Set.of(4L))).isEqualTo(Set.of(4L));
+        assertThat(cache.get("b", () -> Set.of(5L))).isEqualTo(Set.of(3L));
+    }
+
+    private SearchResultCache<String, Set<Long>> cache(long freshMillis, long staleMillis) {
+        return new SearchResultCache<>(10, freshMillis, staleMillis, Function.identity(), refreshes::add);
+    }
+
+    private void runRefreshes() {
+        List<Runnable> queued = new ArrayList<>(refreshes);
+        refreshes.clear();
+        queued.forEach(Runnable::run);
+    }
+
+    private static void waitUntilParked(Thread thread) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(thread.getState()).isEqualTo(Thread.State.WAITING);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.iwacu250.landplots.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RFC 4180 parsing of the import reader: quoting, line endings and the reported line numbers.
+ */
+class CsvRecordReaderTests {
+
+    @Test
+    void quotedFieldKeepsSeparatorsAndLineBreaks() throws IOException {
+        CsvRecordReader reader = reader("title,description\n\"Plot, Kicukiro\",\"First line\nsecond line\"\n");
+
+        assertThat(reader.next()).containsExactly("title", "description");
+        assertThat(reader.next()).containsExactly("Plot, Kicukiro", "First line\nsecond line");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void doubledQuotesAreUnescaped() throws IOException {
+        CsvRecordReader reader = reader("\"The \"\"green\"\" plot\",\"\"\"\",\"\"\n");
+
+        assertThat(reader.next()).containsExactly("The \"green\" plot", "\"", "");
+    }
+
+    @Test
+    void crlfAndLfLineEndingsAreBothAccepted() throws IOException {
+        CsvRecordReader reader = reader("a,b\r\nc,d\ne,f\r\n");
+
+        assertThat(reader.next()).containsExactly("a", "b");
+        assertThat(reader.next()).containsExactly("c", "d");
+        assertThat(reader.next()).containsExactly("e", "f");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void crlfInsideQuotesIsKept() throws IOException {
+        CsvRecordReader reader = reader("\"one\r\ntwo\",x\r\n");
+
+        assertThat(reader.next()).containsExactly("one\r\ntwo", "x");
+    }
+
+    @Test
+    void emptyFieldsAndLastLineWithoutBreak() throws IOException {
+        CsvRecordReader reader = reader("a,,\n,b,c");
+
+        assertThat(reader.next()).containsExactly("a", "", "");
+        assertThat(reader.next()).containsExactly("", "b", "c");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void recordLineCountsQuotedBreaksAndSkippedBlankLines() throws IOException {
+        CsvRecordReader reader = reader("h1,h2\r\n\"multi\nline\",z\r\n\r\n\nlast,1");
+
+        reader.next();
+        assertThat(reader.getRecordLine()).isEqualTo(1);
+        assertThat(reader.next()).containsExactly("multi\nline", "z");
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+        assertThat(reader.next()).containsExactly("last", "1");
+        assertThat(reader.getRecordLine()).isEqualTo(6);
+        assertThat(reader.next()).isNull();
+    }
+
+    private static CsvRecordReader reader(String csv) {
+        return new CsvRecordReader(new StringReader(csv));
+    }
+}